@@ -751,6 +751,11 @@ public class GlStateManager {
       return GL11.glGetInteger(pname);
    }
 
+   public static void _getIntegerv(int pname, int[] params) {
+      RenderSystem.assertOnRenderThreadOrInit();
+      GL11.glGetIntegerv(pname, params);
+   }
+
    static {
       ON_LINUX = Util.getOperatingSystem() == OperatingSystem.LINUX;
       BLEND = new BlendFuncState();
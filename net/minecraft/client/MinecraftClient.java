@@ -154,6 +154,7 @@ import net.minecraft.client.texture.PaintingManager;
 import net.minecraft.client.texture.PlayerSkinProvider;
 import net.minecraft.client.texture.Sprite;
 import net.minecraft.client.texture.SpriteAtlasTexture;
+import net.minecraft.client.texture.SpriteLoader;
 import net.minecraft.client.texture.StatusEffectSpriteManager;
 import net.minecraft.client.texture.TextureManager;
 import net.minecraft.client.toast.SystemToast;
@@ -527,7 +528,7 @@ public class MinecraftClient extends ReentrantThreadExecutor implements WindowEv
       this.window.setPhase("Post startup");
       this.blockColors = BlockColors.create();
       this.itemColors = ItemColors.create(this.blockColors);
-      this.bakedModelManager = new BakedModelManager(this.textureManager, this.blockColors, (Integer)this.options.getMipmapLevels().getValue());
+      this.bakedModelManager = new BakedModelManager(this.textureManager, this.blockColors, (Integer)this.options.getMipmapLevels().getValue(), SpriteLoader.PERSISTENT_CACHE ? path.resolve("cache").resolve("atlases") : null);
       this.resourceManager.registerReloader(this.bakedModelManager);
       this.entityModelLoader = new EntityModelLoader();
       this.resourceManager.registerReloader(this.entityModelLoader);
@@ -29,6 +29,7 @@ import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.VertexFormat;
 import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.render.item.ItemIconCache;
 import net.minecraft.client.render.model.BakedModel;
 import net.minecraft.client.render.model.json.ModelTransformationMode;
 import net.minecraft.client.texture.GuiAtlasManager;
@@ -512,31 +513,55 @@ public class DrawContext {
    private void drawItem(@Nullable LivingEntity entity, @Nullable World world, ItemStack stack, int x, int y, int seed, int z) {
       if (!stack.isEmpty()) {
          BakedModel bakedModel = this.client.getItemRenderer().getModel(stack, world, entity, seed);
-         this.matrices.push();
-         this.matrices.translate((float)(x + 8), (float)(y + 8), (float)(150 + (bakedModel.hasDepth() ? z : 0)));
-
-         try {
-            this.matrices.scale(16.0F, -16.0F, 16.0F);
-            boolean bl = !bakedModel.isSideLit();
-            if (bl) {
-               DiffuseLighting.disableGuiDepthLighting();
-            }
-
-            this.client.getItemRenderer().renderItem(stack, ModelTransformationMode.GUI, false, this.matrices, this.getVertexConsumers(), 15728880, OverlayTexture.DEFAULT_UV, bakedModel);
+         int i = 150 + (bakedModel.hasDepth() ? z : 0);
+         ItemIconCache itemIconCache = this.client.getItemRenderer().getIconCache();
+         ItemIconCache.Key key = ItemIconCache.ENABLED ? itemIconCache.getKey(stack, bakedModel) : null;
+         if (key != null) {
             this.draw();
-            if (bl) {
-               DiffuseLighting.enableGuiDepthLighting();
+            int j = itemIconCache.getSlot(key, this.client.getWindow().getScaleFactor());
+            if (j < 0) {
+               j = itemIconCache.allocateSlot(key);
+               itemIconCache.beginRender(j);
+               this.matrices.push();
+               this.matrices.loadIdentity();
+               this.matrices.translate(8.0F, 8.0F, 150.0F);
+               this.renderItemModel(stack, bakedModel);
+               this.matrices.pop();
+               itemIconCache.endRender();
+               this.setScissor(this.scissorStack.peekLast());
             }
-         } catch (Throwable throwable) {
-            CrashReport crashReport = CrashReport.create(throwable, "Rendering item");
-            CrashReportSection crashReportSection = crashReport.addElement("Item being rendered");
-            crashReportSection.add("Item Type", () -> String.valueOf(stack.getItem()));
-            crashReportSection.add("Item Components", () -> String.valueOf(stack.getComponents()));
-            crashReportSection.add("Item Foil", () -> String.valueOf(stack.hasGlint()));
-            throw new CrashException(crashReport);
+
+            itemIconCache.drawIcon(this.matrices.peek().getPositionMatrix(), j, (float)x, (float)y, (float)i);
+         } else {
+            this.matrices.push();
+            this.matrices.translate((float)(x + 8), (float)(y + 8), (float)i);
+            this.renderItemModel(stack, bakedModel);
+            this.matrices.pop();
          }
 
-         this.matrices.pop();
+      }
+   }
+
+   private void renderItemModel(ItemStack stack, BakedModel model) {
+      try {
+         this.matrices.scale(16.0F, -16.0F, 16.0F);
+         boolean bl = !model.isSideLit();
+         if (bl) {
+            DiffuseLighting.disableGuiDepthLighting();
+         }
+
+         this.client.getItemRenderer().renderItem(stack, ModelTransformationMode.GUI, false, this.matrices, this.getVertexConsumers(), 15728880, OverlayTexture.DEFAULT_UV, model);
+         this.draw();
+         if (bl) {
+            DiffuseLighting.enableGuiDepthLighting();
+         }
+      } catch (Throwable throwable) {
+         CrashReport crashReport = CrashReport.create(throwable, "Rendering item");
+         CrashReportSection crashReportSection = crashReport.addElement("Item being rendered");
+         crashReportSection.add("Item Type", () -> String.valueOf(stack.getItem()));
+         crashReportSection.add("Item Components", () -> String.valueOf(stack.getComponents()));
+         crashReportSection.add("Item Foil", () -> String.valueOf(stack.hasGlint()));
+         throw new CrashException(crashReport);
       }
    }
 
@@ -690,6 +715,11 @@ public class DrawContext {
          }
       }
 
+      @Nullable
+      public ScreenRect peekLast() {
+         return (ScreenRect)this.stack.peekLast();
+      }
+
       public boolean contains(int x, int y) {
          return this.stack.isEmpty() ? true : ((ScreenRect)this.stack.peek()).contains(x, y);
       }
@@ -9,7 +9,9 @@ import it.unimi.dsi.fastutil.longs.LongSets;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.Formatter;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -78,6 +80,8 @@ public class DebugHud {
    private static final int field_32188 = 2;
    private static final int field_32189 = 2;
    private static final int field_32190 = 2;
+   private static final long LEFT_TEXT_INTERVAL = 50L;
+   private static final long SYSTEM_TEXT_INTERVAL = 1000L;
    private static final Map HEIGHT_MAP_TYPES = (Map)Util.make(new EnumMap(Heightmap.Type.class), (types) -> {
       types.put(Type.WORLD_SURFACE_WG, "SW");
       types.put(Type.WORLD_SURFACE, "S");
@@ -110,6 +114,29 @@ public class DebugHud {
    private final TickChart tickChart;
    private final PingChart pingChart;
    private final PacketSizeChart packetSizeChart;
+   private final StringBuilder lineBuilder = new StringBuilder();
+   private final Formatter lineFormatter;
+   private final List leftText = new ArrayList();
+   private final List rightText = new ArrayList();
+   private final List systemText = new ArrayList();
+   private final List targetedBlockText = new ArrayList();
+   private final List targetedFluidText = new ArrayList();
+   private long leftTextTime;
+   private long systemTextTime;
+   private boolean leftTextDirty = true;
+   private int facingLine = -1;
+   private float facingYaw;
+   private float facingPitch;
+   @Nullable
+   private BlockPos targetedBlockPos;
+   @Nullable
+   private BlockState targetedBlockState;
+   @Nullable
+   private BlockPos targetedFluidPos;
+   @Nullable
+   private FluidState targetedFluidState;
+   private long leftTextNanos;
+   private long textNanos;
 
    public DebugHud(MinecraftClient client) {
       this.receivedDebugSamples = Map.of(DebugSampleType.TICK_TIME, this.tickNanosLog);
@@ -120,11 +147,13 @@ public class DebugHud {
       this.tickChart = new TickChart(this.textRenderer, this.tickNanosLog, () -> client.world.getTickManager().getMillisPerTick());
       this.pingChart = new PingChart(this.textRenderer, this.pingLog);
       this.packetSizeChart = new PacketSizeChart(this.textRenderer, this.packetSizeLog);
+      this.lineFormatter = new Formatter(this.lineBuilder, Locale.ROOT);
    }
 
    public void resetChunk() {
       this.chunkFuture = null;
       this.chunk = null;
+      this.leftTextDirty = true;
    }
 
    public void render(DrawContext context) {
@@ -161,20 +190,71 @@ public class DebugHud {
    }
 
    protected void drawLeftText(DrawContext context) {
-      List<String> list = this.getLeftText();
-      list.add("");
-      boolean bl = this.client.getServer() != null;
-      String var10001 = this.renderingChartVisible ? "visible" : "hidden";
-      list.add("Debug charts: [F3+1] Profiler " + var10001 + "; [F3+2] " + (bl ? "FPS + TPS " : "FPS ") + (this.renderingAndTickChartsVisible ? "visible" : "hidden") + "; [F3+3] " + (!this.client.isInSingleplayer() ? "Bandwidth + Ping" : "Ping") + (this.packetSizeAndPingChartsVisible ? " visible" : " hidden"));
-      list.add("For help: press F3 + Q");
+      long l = Util.getMeasuringTimeNano();
+      List<String> list = this.getCachedLeftText();
+      this.leftTextNanos = Util.getMeasuringTimeNano() - l;
       this.drawText(context, list, true);
    }
 
    protected void drawRightText(DrawContext context) {
+      long l = Util.getMeasuringTimeNano();
       List<String> list = this.getRightText();
+      this.addTextNanos(this.leftTextNanos + Util.getMeasuringTimeNano() - l);
       this.drawText(context, list, false);
    }
 
+   private void addTextNanos(long nanos) {
+      this.textNanos = (this.textNanos * 15L + nanos) / 16L;
+      this.renderingChart.setDebugTextNanos(this.textNanos);
+   }
+
+   private List getCachedLeftText() {
+      long l = Util.getMeasuringTimeMs();
+      if (this.leftTextDirty || l - this.leftTextTime >= 50L) {
+         this.leftTextDirty = false;
+         this.leftTextTime = l;
+         this.facingLine = -1;
+         List<String> list = this.getLeftText();
+         list.add("");
+         boolean bl = this.client.getServer() != null;
+         String var10001 = this.renderingChartVisible ? "visible" : "hidden";
+         list.add("Debug charts: [F3+1] Profiler " + var10001 + "; [F3+2] " + (bl ? "FPS + TPS " : "FPS ") + (this.renderingAndTickChartsVisible ? "visible" : "hidden") + "; [F3+3] " + (!this.client.isInSingleplayer() ? "Bandwidth + Ping" : "Ping") + (this.packetSizeAndPingChartsVisible ? " visible" : " hidden"));
+         list.add("For help: press F3 + Q");
+         this.leftText.clear();
+         this.leftText.addAll(list);
+      } else if (this.facingLine >= 0) {
+         Entity entity = this.client.getCameraEntity();
+         float f = MathHelper.wrapDegrees(entity.getYaw());
+         float g = MathHelper.wrapDegrees(entity.getPitch());
+         if (Float.floatToIntBits(f) != Float.floatToIntBits(this.facingYaw) || Float.floatToIntBits(g) != Float.floatToIntBits(this.facingPitch)) {
+            this.leftText.set(this.facingLine, this.getFacingString(entity.getHorizontalFacing(), f, g));
+         }
+      }
+
+      return this.leftText;
+   }
+
+   private String getFacingString(Direction direction, float yaw, float pitch) {
+      String string;
+      switch (direction) {
+         case NORTH -> string = "Towards negative Z";
+         case SOUTH -> string = "Towards positive Z";
+         case WEST -> string = "Towards negative X";
+         case EAST -> string = "Towards positive X";
+         default -> string = "Invalid";
+      }
+
+      this.facingYaw = yaw;
+      this.facingPitch = pitch;
+      return this.format("Facing: %s (%s) (%.1f / %.1f)", direction, string, yaw, pitch);
+   }
+
+   private String format(String format, Object... args) {
+      this.lineBuilder.setLength(0);
+      this.lineFormatter.format(format, args);
+      return this.lineBuilder.toString();
+   }
+
    private void drawText(DrawContext context, List text, boolean left) {
       Objects.requireNonNull(this.textRenderer);
       int i = 9;
@@ -249,15 +329,6 @@ public class DebugHud {
       } else {
          Entity entity = this.client.getCameraEntity();
          Direction direction = entity.getHorizontalFacing();
-         String string4;
-         switch (direction) {
-            case NORTH -> string4 = "Towards negative Z";
-            case SOUTH -> string4 = "Towards positive Z";
-            case WEST -> string4 = "Towards negative X";
-            case EAST -> string4 = "Towards positive X";
-            default -> string4 = "Invalid";
-         }
-
          ChunkPos chunkPos = new ChunkPos(blockPos);
          if (!Objects.equals(this.pos, chunkPos)) {
             this.pos = chunkPos;
@@ -277,6 +348,11 @@ public class DebugHud {
          var10000[5] = "P: " + var10003 + ". T: " + this.client.world.getRegularEntityCount();
          var10000[6] = this.client.world.asString();
          List<String> list = Lists.newArrayList(var10000);
+         String string6 = this.client.worldRenderer.getChunkBuilderTimingsDebugString();
+         if (string6 != null) {
+            list.add(string6);
+         }
+
          String string5 = this.getServerWorldDebugString();
          if (string5 != null) {
             list.add(string5);
@@ -288,7 +364,8 @@ public class DebugHud {
          list.add(String.format(Locale.ROOT, "XYZ: %.3f / %.5f / %.3f", this.client.getCameraEntity().getX(), this.client.getCameraEntity().getY(), this.client.getCameraEntity().getZ()));
          list.add(String.format(Locale.ROOT, "Block: %d %d %d [%d %d %d]", blockPos.getX(), blockPos.getY(), blockPos.getZ(), blockPos.getX() & 15, blockPos.getY() & 15, blockPos.getZ() & 15));
          list.add(String.format(Locale.ROOT, "Chunk: %d %d %d [%d %d in r.%d.%d.mca]", chunkPos.x, ChunkSectionPos.getSectionCoord(blockPos.getY()), chunkPos.z, chunkPos.getRegionRelativeX(), chunkPos.getRegionRelativeZ(), chunkPos.getRegionX(), chunkPos.getRegionZ()));
-         list.add(String.format(Locale.ROOT, "Facing: %s (%s) (%.1f / %.1f)", direction, string4, MathHelper.wrapDegrees(entity.getYaw()), MathHelper.wrapDegrees(entity.getPitch())));
+         this.facingLine = list.size();
+         list.add(this.getFacingString(direction, MathHelper.wrapDegrees(entity.getYaw()), MathHelper.wrapDegrees(entity.getPitch())));
          WorldChunk worldChunk = this.getClientChunk();
          if (worldChunk.isEmpty()) {
             list.add("Waiting for chunk...");
@@ -416,46 +493,88 @@ public class DebugHud {
    }
 
    protected List getRightText() {
-      long l = Runtime.getRuntime().maxMemory();
-      long m = Runtime.getRuntime().totalMemory();
-      long n = Runtime.getRuntime().freeMemory();
-      long o = m - n;
-      List<String> list = Lists.newArrayList(new String[]{String.format(Locale.ROOT, "Java: %s", System.getProperty("java.version")), String.format(Locale.ROOT, "Mem: %2d%% %03d/%03dMB", o * 100L / l, toMiB(o), toMiB(l)), String.format(Locale.ROOT, "Allocation rate: %03dMB/s", toMiB(this.allocationRateCalculator.get(o))), String.format(Locale.ROOT, "Allocated: %2d%% %03dMB", m * 100L / l, toMiB(m)), "", String.format(Locale.ROOT, "CPU: %s", GlDebugInfo.getCpuInfo()), "", String.format(Locale.ROOT, "Display: %dx%d (%s)", MinecraftClient.getInstance().getWindow().getFramebufferWidth(), MinecraftClient.getInstance().getWindow().getFramebufferHeight(), GlDebugInfo.getVendor()), GlDebugInfo.getRenderer(), GlDebugInfo.getVersion()});
+      long p = Util.getMeasuringTimeMs();
+      if (this.systemText.isEmpty() || p - this.systemTextTime >= 1000L) {
+         this.systemTextTime = p;
+         long l = Runtime.getRuntime().maxMemory();
+         long m = Runtime.getRuntime().totalMemory();
+         long n = Runtime.getRuntime().freeMemory();
+         long o = m - n;
+         this.systemText.clear();
+         this.systemText.add(this.format("Java: %s", System.getProperty("java.version")));
+         this.systemText.add(this.format("Mem: %2d%% %03d/%03dMB", o * 100L / l, toMiB(o), toMiB(l)));
+         this.systemText.add(this.format("Allocation rate: %03dMB/s", toMiB(this.allocationRateCalculator.get(o))));
+         this.systemText.add(this.format("Allocated: %2d%% %03dMB", m * 100L / l, toMiB(m)));
+         this.systemText.add("");
+         this.systemText.add(this.format("CPU: %s", GlDebugInfo.getCpuInfo()));
+         this.systemText.add("");
+         this.systemText.add(this.format("Display: %dx%d (%s)", MinecraftClient.getInstance().getWindow().getFramebufferWidth(), MinecraftClient.getInstance().getWindow().getFramebufferHeight(), GlDebugInfo.getVendor()));
+         this.systemText.add(GlDebugInfo.getRenderer());
+         this.systemText.add(GlDebugInfo.getVersion());
+      }
+
+      List<String> list = this.rightText;
+      list.clear();
+
+      for(String string : this.systemText) {
+         list.add(string);
+      }
+
       if (this.client.hasReducedDebugInfo()) {
          return list;
       } else {
          if (this.blockHit.getType() == net.minecraft.util.hit.HitResult.Type.BLOCK) {
             BlockPos blockPos = ((BlockHitResult)this.blockHit).getBlockPos();
             BlockState blockState = this.client.world.getBlockState(blockPos);
-            list.add("");
-            String var10001 = String.valueOf(Formatting.UNDERLINE);
-            list.add(var10001 + "Targeted Block: " + blockPos.getX() + ", " + blockPos.getY() + ", " + blockPos.getZ());
-            list.add(String.valueOf(Registries.BLOCK.getId(blockState.getBlock())));
+            if (!blockPos.equals(this.targetedBlockPos) || blockState != this.targetedBlockState) {
+               this.targetedBlockPos = blockPos;
+               this.targetedBlockState = blockState;
+               List<String> list2 = this.targetedBlockText;
+               list2.clear();
+               list2.add("");
+               String var10001 = String.valueOf(Formatting.UNDERLINE);
+               list2.add(var10001 + "Targeted Block: " + blockPos.getX() + ", " + blockPos.getY() + ", " + blockPos.getZ());
+               list2.add(String.valueOf(Registries.BLOCK.getId(blockState.getBlock())));
+
+               for(Map.Entry entry : blockState.getEntries().entrySet()) {
+                  list2.add(this.propertyToString(entry));
+               }
 
-            for(Map.Entry entry : blockState.getEntries().entrySet()) {
-               list.add(this.propertyToString(entry));
+               Stream var10000 = blockState.streamTags().map((tag) -> "#" + String.valueOf(tag.id()));
+               Objects.requireNonNull(list2);
+               var10000.forEach(list2::add);
             }
 
-            Stream var10000 = blockState.streamTags().map((tag) -> "#" + String.valueOf(tag.id()));
-            Objects.requireNonNull(list);
-            var10000.forEach(list::add);
+            for(String string2 : this.targetedBlockText) {
+               list.add(string2);
+            }
          }
 
          if (this.fluidHit.getType() == net.minecraft.util.hit.HitResult.Type.BLOCK) {
             BlockPos blockPos = ((BlockHitResult)this.fluidHit).getBlockPos();
             FluidState fluidState = this.client.world.getFluidState(blockPos);
-            list.add("");
-            String var20 = String.valueOf(Formatting.UNDERLINE);
-            list.add(var20 + "Targeted Fluid: " + blockPos.getX() + ", " + blockPos.getY() + ", " + blockPos.getZ());
-            list.add(String.valueOf(Registries.FLUID.getId(fluidState.getFluid())));
+            if (!blockPos.equals(this.targetedFluidPos) || fluidState != this.targetedFluidState) {
+               this.targetedFluidPos = blockPos;
+               this.targetedFluidState = fluidState;
+               List<String> list3 = this.targetedFluidText;
+               list3.clear();
+               list3.add("");
+               String var20 = String.valueOf(Formatting.UNDERLINE);
+               list3.add(var20 + "Targeted Fluid: " + blockPos.getX() + ", " + blockPos.getY() + ", " + blockPos.getZ());
+               list3.add(String.valueOf(Registries.FLUID.getId(fluidState.getFluid())));
+
+               for(Map.Entry entry : fluidState.getEntries().entrySet()) {
+                  list3.add(this.propertyToString(entry));
+               }
 
-            for(Map.Entry entry : fluidState.getEntries().entrySet()) {
-               list.add(this.propertyToString(entry));
+               Stream var19 = fluidState.streamTags().map((tag) -> "#" + String.valueOf(tag.id()));
+               Objects.requireNonNull(list3);
+               var19.forEach(list3::add);
             }
 
-            Stream var19 = fluidState.streamTags().map((tag) -> "#" + String.valueOf(tag.id()));
-            Objects.requireNonNull(list);
-            var19.forEach(list::add);
+            for(String string3 : this.targetedFluidText) {
+               list.add(string3);
+            }
          }
 
          Entity entity = this.client.targetedEntity;
@@ -506,10 +625,12 @@ public class DebugHud {
    }
 
    public void toggleDebugHud() {
+      this.leftTextDirty = true;
       this.showDebugHud = !this.showDebugHud;
    }
 
    public void togglePacketSizeAndPingCharts() {
+      this.leftTextDirty = true;
       this.packetSizeAndPingChartsVisible = !this.showDebugHud || !this.packetSizeAndPingChartsVisible;
       if (this.packetSizeAndPingChartsVisible) {
          this.showDebugHud = true;
@@ -519,6 +640,7 @@ public class DebugHud {
    }
 
    public void toggleRenderingAndTickCharts() {
+      this.leftTextDirty = true;
       this.renderingAndTickChartsVisible = !this.showDebugHud || !this.renderingAndTickChartsVisible;
       if (this.renderingAndTickChartsVisible) {
          this.showDebugHud = true;
@@ -528,6 +650,7 @@ public class DebugHud {
    }
 
    public void toggleRenderingChart() {
+      this.leftTextDirty = true;
       this.renderingChartVisible = !this.showDebugHud || !this.renderingChartVisible;
       if (this.renderingChartVisible) {
          this.showDebugHud = true;
@@ -561,6 +684,11 @@ public class DebugHud {
 
    public void clear() {
       this.showDebugHud = false;
+      this.leftTextDirty = true;
+      this.targetedBlockPos = null;
+      this.targetedBlockState = null;
+      this.targetedFluidPos = null;
+      this.targetedFluidState = null;
       this.tickNanosLog.clear();
       this.pingLog.clear();
       this.packetSizeLog.clear();
@@ -16,6 +16,7 @@ public class RenderingChart extends DebugChart {
    private static final int field_45928 = -16711936;
    private static final int field_45929 = 30;
    private static final double field_45930 = 33.333333333333336;
+   private long debugTextNanos;
 
    public RenderingChart(TextRenderer textRenderer, MultiValueDebugSampleLog multiValueDebugSampleLog) {
       super(textRenderer, multiValueDebugSampleLog);
@@ -30,6 +31,12 @@ public class RenderingChart extends DebugChart {
          context.drawHorizontalLine(RenderLayer.getGuiOverlay(), x, x + width - 1, height - this.getHeight((double)1.0E9F / (double)i) - 1, -16711681);
       }
 
+      String string = String.format(Locale.ROOT, "Debug text: %.2f ms", (double)this.debugTextNanos / (double)1000000.0F);
+      this.drawBorderedText(context, string, x + width - this.textRenderer.getWidth(string) - 3, height - 60 + 1);
+   }
+
+   public void setDebugTextNanos(long nanos) {
+      this.debugTextNanos = nanos;
    }
 
    protected String format(double value) {
@@ -1,6 +1,7 @@
 package net.minecraft.client.gui.screen.world;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.logging.LogUtils;
@@ -16,6 +17,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -86,12 +88,15 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
    static final Text CONVERSION_TOOLTIP;
    static final Text INCOMPATIBLE_TOOLTIP;
    static final Text EXPERIMENTAL_TEXT;
+   private static final int MAX_LOADED_ICONS = Integer.getInteger("WorldListWidget.maxLoadedIcons", 64);
    private final SelectWorldScreen parent;
    private CompletableFuture levelsFuture;
    @Nullable
    private List levels;
    private String search;
    private final LoadingEntry loadingEntry;
+   final List loadedIcons = Lists.newArrayList();
+   int frame;
 
    public WorldListWidget(SelectWorldScreen parent, MinecraftClient client, int width, int height, int y, int itemHeight, String search, @Nullable WorldListWidget oldWidget) {
       super(client, width, height, y, itemHeight);
@@ -147,7 +152,26 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
          this.show(list);
       }
 
+      ++this.frame;
       super.renderWidget(context, mouseX, mouseY, delta);
+      if (this.loadedIcons.size() > MAX_LOADED_ICONS) {
+         this.unloadIcons();
+      }
+
+   }
+
+   private void unloadIcons() {
+      this.loadedIcons.sort((a, b) -> Integer.compare(((WorldEntry)a).lastRenderedFrame, ((WorldEntry)b).lastRenderedFrame));
+      Iterator<WorldEntry> iterator = this.loadedIcons.iterator();
+
+      while(this.loadedIcons.size() > MAX_LOADED_ICONS && iterator.hasNext()) {
+         WorldEntry worldEntry = (WorldEntry)iterator.next();
+         if (worldEntry.lastRenderedFrame != this.frame) {
+            worldEntry.unloadIcon();
+            iterator.remove();
+         }
+      }
+
    }
 
    private void show(@Nullable List levels) {
@@ -322,6 +346,12 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
       private final WorldIcon icon;
       @Nullable
       private Path iconPath;
+      private boolean iconPathValidated;
+      @Nullable
+      private CompletableFuture iconFuture;
+      private boolean iconLoaded;
+      private boolean closed;
+      int lastRenderedFrame;
       private long time;
 
       public WorldEntry(final WorldListWidget levelList, final LevelSummary level) {
@@ -330,34 +360,28 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
          this.level = level;
          this.icon = WorldIcon.forWorld(this.client.getTextureManager(), level.getName());
          this.iconPath = level.getIconPath();
-         this.validateIconPath();
-         this.loadIcon();
       }
 
-      private void validateIconPath() {
-         if (this.iconPath != null) {
-            try {
-               BasicFileAttributes basicFileAttributes = Files.readAttributes(this.iconPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
-               if (basicFileAttributes.isSymbolicLink()) {
-                  List<SymlinkEntry> list = this.client.getSymlinkFinder().validate(this.iconPath);
-                  if (!list.isEmpty()) {
-                     WorldListWidget.LOGGER.warn("{}", SymlinkValidationException.getMessage(this.iconPath, list));
-                     this.iconPath = null;
-                  } else {
-                     basicFileAttributes = Files.readAttributes(this.iconPath, BasicFileAttributes.class);
-                  }
+      @Nullable
+      private Path validateIconPath(Path path) {
+         try {
+            BasicFileAttributes basicFileAttributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (basicFileAttributes.isSymbolicLink()) {
+               List<SymlinkEntry> list = this.client.getSymlinkFinder().validate(path);
+               if (!list.isEmpty()) {
+                  WorldListWidget.LOGGER.warn("{}", SymlinkValidationException.getMessage(path, list));
+                  return null;
                }
 
-               if (!basicFileAttributes.isRegularFile()) {
-                  this.iconPath = null;
-               }
-            } catch (NoSuchFileException var3) {
-               this.iconPath = null;
-            } catch (IOException iOException) {
-               WorldListWidget.LOGGER.error("could not validate symlink", iOException);
-               this.iconPath = null;
+               basicFileAttributes = Files.readAttributes(path, BasicFileAttributes.class);
             }
 
+            return basicFileAttributes.isRegularFile() ? path : null;
+         } catch (NoSuchFileException var4) {
+            return null;
+         } catch (IOException iOException) {
+            WorldListWidget.LOGGER.error("could not validate symlink", iOException);
+            return null;
          }
       }
 
@@ -399,6 +423,11 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
          int var10004 = y + 9;
          Objects.requireNonNull(this.client.textRenderer);
          context.drawText(var10001, text, var10003, var10004 + 9 + 3, -8355712, false);
+         this.lastRenderedFrame = WorldListWidget.this.frame;
+         if (!this.iconLoaded && this.iconFuture == null && this.iconPath != null) {
+            this.loadIcon();
+         }
+
          RenderSystem.enableBlend();
          context.drawTexture(this.icon.getTextureId(), x, y, 0.0F, 0.0F, 32, 32, 32, 32);
          RenderSystem.disableBlend();
@@ -616,39 +645,71 @@ public class WorldListWidget extends AlwaysSelectedEntryListWidget {
       }
 
       private void loadIcon() {
-         boolean bl = this.iconPath != null && Files.isRegularFile(this.iconPath, new LinkOption[0]);
-         if (bl) {
-            try {
-               InputStream inputStream = Files.newInputStream(this.iconPath);
-
+         Path path = this.iconPath;
+         boolean bl = this.iconPathValidated;
+         this.iconFuture = CompletableFuture.supplyAsync(() -> {
+            Path path2 = bl ? path : this.validateIconPath(path);
+            return path2 != null ? this.readIcon(path2) : null;
+         }, Util.getIoWorkerExecutor()).thenAcceptAsync((image) -> {
+            this.iconFuture = null;
+            this.iconPathValidated = true;
+            if (image == null) {
+               this.iconPath = null;
+            } else if (this.closed) {
+               ((NativeImage)image).close();
+            } else {
                try {
-                  this.icon.load(NativeImage.read(inputStream));
-               } catch (Throwable var6) {
-                  if (inputStream != null) {
-                     try {
-                        inputStream.close();
-                     } catch (Throwable var5) {
-                        var6.addSuppressed(var5);
-                     }
-                  }
-
-                  throw var6;
+                  this.icon.load((NativeImage)image);
+                  this.iconLoaded = true;
+                  WorldListWidget.this.loadedIcons.add(this);
+               } catch (Throwable throwable) {
+                  WorldListWidget.LOGGER.error("Invalid icon for world {}", this.level.getName(), throwable);
+                  this.iconPath = null;
                }
+            }
+
+         }, this.client);
+      }
+
+      @Nullable
+      private NativeImage readIcon(Path path) {
+         try {
+            InputStream inputStream = Files.newInputStream(path);
 
+            NativeImage var3;
+            try {
+               var3 = NativeImage.read(inputStream);
+            } catch (Throwable var6) {
                if (inputStream != null) {
-                  inputStream.close();
+                  try {
+                     inputStream.close();
+                  } catch (Throwable var5) {
+                     var6.addSuppressed(var5);
+                  }
                }
-            } catch (Throwable throwable) {
-               WorldListWidget.LOGGER.error("Invalid icon for world {}", this.level.getName(), throwable);
-               this.iconPath = null;
+
+               throw var6;
             }
-         } else {
-            this.icon.destroy();
+
+            if (inputStream != null) {
+               inputStream.close();
+            }
+
+            return var3;
+         } catch (Throwable throwable) {
+            WorldListWidget.LOGGER.error("Invalid icon for world {}", this.level.getName(), throwable);
+            return null;
          }
+      }
 
+      void unloadIcon() {
+         this.icon.destroy();
+         this.iconLoaded = false;
       }
 
       public void close() {
+         this.closed = true;
+         WorldListWidget.this.loadedIcons.remove(this);
          this.icon.close();
       }
 
@@ -64,6 +64,7 @@ import net.minecraft.client.sound.PassiveBeeSoundInstance;
 import net.minecraft.client.sound.SnifferDigSoundInstance;
 import net.minecraft.client.toast.RecipeToast;
 import net.minecraft.client.toast.SystemToast;
+import net.minecraft.client.world.ClientChunkManager;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.command.CommandRegistryAccess;
 import net.minecraft.command.CommandSource;
@@ -701,19 +702,37 @@ public class ClientPlayNetworkHandler extends ClientCommonNetworkHandler impleme
    }
 
    public void onChunkData(ChunkDataS2CPacket packet) {
+      ClientWorld clientWorld = this.world;
+      if (clientWorld != null && !this.client.isOnThread()) {
+         clientWorld.getChunkManager().prepareChunkData(packet.getChunkX(), packet.getChunkZ(), packet.getChunkData(), packet.getLightData());
+      }
+
       NetworkThreadUtils.forceMainThread(packet, this, this.client);
       int i = packet.getChunkX();
       int j = packet.getChunkZ();
-      this.loadChunk(i, j, packet.getChunkData());
-      LightData lightData = packet.getLightData();
-      this.world.enqueueChunkUpdate(() -> {
-         this.readLightData(i, j, lightData);
-         WorldChunk worldChunk = this.world.getChunkManager().getWorldChunk(i, j, false);
-         if (worldChunk != null) {
-            this.scheduleRenderChunk(worldChunk, i, j);
-         }
+      ClientChunkManager.DecodedChunk decodedChunk = this.world.getChunkManager().takeDecodedChunk(packet.getChunkData());
+      if (decodedChunk != null) {
+         this.world.getChunkManager().loadChunkFromPacket(i, j, packet.getChunkData(), decodedChunk);
+         this.world.enqueueChunkUpdate(() -> {
+            this.readLightData(i, j, decodedChunk);
+            WorldChunk worldChunk = this.world.getChunkManager().getWorldChunk(i, j, false);
+            if (worldChunk != null) {
+               this.scheduleRenderChunk(worldChunk, i, j);
+            }
 
-      });
+         });
+      } else {
+         this.loadChunk(i, j, packet.getChunkData());
+         LightData lightData = packet.getLightData();
+         this.world.enqueueChunkUpdate(() -> {
+            this.readLightData(i, j, lightData);
+            WorldChunk worldChunk = this.world.getChunkManager().getWorldChunk(i, j, false);
+            if (worldChunk != null) {
+               this.scheduleRenderChunk(worldChunk, i, j);
+            }
+
+         });
+      }
    }
 
    public void onChunkBiomeData(ChunkBiomeDataS2CPacket packet) {
@@ -1329,7 +1348,11 @@ public class ClientPlayNetworkHandler extends ClientCommonNetworkHandler impleme
       }
 
       packet.apply(mapState);
-      mapRenderer.updateTexture(mapIdComponent, mapState);
+      Optional<MapState.UpdateData> optional = packet.updateData();
+      if (optional.isPresent()) {
+         MapState.UpdateData updateData = (MapState.UpdateData)optional.get();
+         mapRenderer.updateTexture(mapIdComponent, mapState, updateData.startX(), updateData.startZ(), updateData.width(), updateData.height());
+      }
    }
 
    public void onWorldEvent(WorldEventS2CPacket packet) {
@@ -2035,6 +2058,13 @@ public class ClientPlayNetworkHandler extends ClientCommonNetworkHandler impleme
       lightingProvider.setColumnEnabled(new ChunkPos(x, z), true);
    }
 
+   private void readLightData(int x, int z, ClientChunkManager.DecodedChunk decodedChunk) {
+      LightingProvider lightingProvider = this.world.getChunkManager().getLightingProvider();
+      this.updateLighting(x, z, lightingProvider, LightType.SKY, decodedChunk.skyLight());
+      this.updateLighting(x, z, lightingProvider, LightType.BLOCK, decodedChunk.blockLight());
+      lightingProvider.setColumnEnabled(new ChunkPos(x, z), true);
+   }
+
    public void onSetTradeOffers(SetTradeOffersS2CPacket packet) {
       NetworkThreadUtils.forceMainThread(packet, this, this.client);
       ScreenHandler screenHandler = this.client.player.currentScreenHandler;
@@ -2119,6 +2149,17 @@ public class ClientPlayNetworkHandler extends ClientCommonNetworkHandler impleme
 
    }
 
+   private void updateLighting(int chunkX, int chunkZ, LightingProvider provider, LightType type, ChunkNibbleArray[] nibbles) {
+      for(int i = 0; i < nibbles.length && i < provider.getHeight(); ++i) {
+         if (nibbles[i] != null) {
+            int j = provider.getBottomY() + i;
+            provider.enqueueSectionData(type, ChunkSectionPos.from(chunkX, j, chunkZ), nibbles[i]);
+            this.world.scheduleBlockRenders(chunkX, j, chunkZ);
+         }
+      }
+
+   }
+
    public ClientConnection getConnection() {
       return this.connection;
    }
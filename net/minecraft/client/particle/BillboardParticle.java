@@ -68,6 +68,10 @@ public abstract class BillboardParticle extends Particle {
       return this.scale;
    }
 
+   public float getRenderExpansion(float tickDelta) {
+      return this.getSize(tickDelta);
+   }
+
    public Particle scale(float scale) {
       this.scale *= scale;
       return super.scale(scale);
@@ -46,6 +46,10 @@ public class BlockDustParticle extends SpriteBillboardParticle {
       return ParticleTextureSheet.TERRAIN_SHEET;
    }
 
+   protected boolean canDecimateTicks() {
+      return true;
+   }
+
    protected float getMinU() {
       return this.sprite.getFrameU((this.sampleU + 1.0F) / 4.0F);
    }
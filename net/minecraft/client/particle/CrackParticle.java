@@ -30,6 +30,10 @@ public class CrackParticle extends SpriteBillboardParticle {
       return ParticleTextureSheet.TERRAIN_SHEET;
    }
 
+   protected boolean canDecimateTicks() {
+      return true;
+   }
+
    protected CrackParticle(ClientWorld world, double x, double y, double z, ItemStack stack) {
       super(world, x, y, z, (double)0.0F, (double)0.0F, (double)0.0F);
       this.setSprite(MinecraftClient.getInstance().getItemRenderer().getModel(stack, world, (LivingEntity)null, 0).getParticleSprite());
@@ -48,6 +48,12 @@ public abstract class Particle {
    protected float prevAngle;
    protected float velocityMultiplier;
    protected boolean ascending;
+   int tickPhase;
+   int glideTicks;
+   private double glideX;
+   private double glideY;
+   private double glideZ;
+   float renderPriority;
 
    protected Particle(ClientWorld world, double x, double y, double z) {
       this.boundingBox = EMPTY_BOUNDING_BOX;
@@ -143,6 +149,48 @@ public abstract class Particle {
       }
    }
 
+   protected boolean canDecimateTicks() {
+      return false;
+   }
+
+   void tick(int steps) {
+      this.prevPosX = this.x;
+      this.prevPosY = this.y;
+      this.prevPosZ = this.z;
+      this.age += steps;
+      if (this.age > this.maxAge) {
+         this.markDead();
+      } else {
+         double d = 0.0;
+         double e = 0.0;
+         double f = 0.0;
+
+         for(int i = 0; i < steps; ++i) {
+            this.velocityY -= 0.04 * (double)this.gravityStrength;
+            d += this.velocityX;
+            e += this.velocityY;
+            f += this.velocityZ;
+            this.velocityX *= (double)this.velocityMultiplier;
+            this.velocityY *= (double)this.velocityMultiplier;
+            this.velocityZ *= (double)this.velocityMultiplier;
+         }
+
+         this.move(d, e, f);
+         if (this.onGround) {
+            for(int i = 0; i < steps; ++i) {
+               this.velocityX *= (double)0.7F;
+               this.velocityZ *= (double)0.7F;
+            }
+         }
+
+         this.glideX = (this.x - this.prevPosX) / (double)steps;
+         this.glideY = (this.y - this.prevPosY) / (double)steps;
+         this.glideZ = (this.z - this.prevPosZ) / (double)steps;
+         this.glideTicks = steps - 1;
+         this.setPos(this.prevPosX + this.glideX, this.prevPosY + this.glideY, this.prevPosZ + this.glideZ);
+      }
+   }
+
    public abstract void buildGeometry(VertexConsumer vertexConsumer, Camera camera, float tickDelta);
 
    public abstract ParticleTextureSheet getType();
@@ -156,6 +204,17 @@ public abstract class Particle {
       this.dead = true;
    }
 
+   void skipTick() {
+      this.prevPosX = this.x;
+      this.prevPosY = this.y;
+      this.prevPosZ = this.z;
+      if (this.glideTicks > 0) {
+         --this.glideTicks;
+         this.setPos(this.x + this.glideX, this.y + this.glideY, this.z + this.glideZ);
+      }
+
+   }
+
    protected void setBoundingBoxSpacing(float spacingXZ, float spacingY) {
       if (spacingXZ != this.spacingXZ || spacingY != this.spacingY) {
          this.spacingXZ = spacingXZ;
@@ -230,6 +289,10 @@ public abstract class Particle {
       return this.boundingBox;
    }
 
+   public float getRenderExpansion(float tickDelta) {
+      return 0.0F;
+   }
+
    public void setBoundingBox(Box boundingBox) {
       this.boundingBox = boundingBox;
    }
@@ -0,0 +1,349 @@
+package net.minecraft.client.particle;
+
+import java.util.Arrays;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.Frustum;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+@Environment(EnvType.CLIENT)
+public class ParticleBatch {
+   private static final int INITIAL_CAPACITY = 64;
+   private static final int MAX_PARTICLE_COUNT = Integer.getInteger("ParticleBatch.maxParticles", 16384);
+   private final Kind kind;
+   private final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+   private int size;
+   private int evicted;
+   private double[] x = new double[64];
+   private double[] y = new double[64];
+   private double[] z = new double[64];
+   private double[] prevX = new double[64];
+   private double[] prevY = new double[64];
+   private double[] prevZ = new double[64];
+   private double[] velocityX = new double[64];
+   private double[] velocityY = new double[64];
+   private double[] velocityZ = new double[64];
+   private double[] startX = new double[64];
+   private double[] startY = new double[64];
+   private double[] startZ = new double[64];
+   private int[] age = new int[64];
+   private int[] maxAge = new int[64];
+   private int[] color = new int[64];
+   private int[] light = new int[64];
+   private float[] scale = new float[64];
+   private float[] minU = new float[64];
+   private float[] maxU = new float[64];
+   private float[] minV = new float[64];
+   private float[] maxV = new float[64];
+
+   public ParticleBatch(Kind kind) {
+      this.kind = kind;
+   }
+
+   public ParticleTextureSheet getSheet() {
+      return this.kind.sheet;
+   }
+
+   public int size() {
+      return this.size - this.evicted;
+   }
+
+   public boolean isEmpty() {
+      return this.size == this.evicted;
+   }
+
+   public void clear() {
+      this.size = 0;
+      this.evicted = 0;
+   }
+
+   public boolean add(Particle particle, ClientWorld world) {
+      SpriteBillboardParticle spriteBillboardParticle = (SpriteBillboardParticle)particle;
+      Sprite sprite = spriteBillboardParticle.sprite;
+      if (sprite != null && particle.isAlive()) {
+         if (this.size - this.evicted >= MAX_PARTICLE_COUNT) {
+            ++this.evicted;
+         }
+
+         if (this.size == this.x.length) {
+            this.grow(this.size * 2);
+         }
+
+         int i = this.size++;
+         this.x[i] = particle.x;
+         this.y[i] = particle.y;
+         this.z[i] = particle.z;
+         this.prevX[i] = particle.prevPosX;
+         this.prevY[i] = particle.prevPosY;
+         this.prevZ[i] = particle.prevPosZ;
+         this.velocityX[i] = particle.velocityX;
+         this.velocityY[i] = particle.velocityY;
+         this.velocityZ[i] = particle.velocityZ;
+         this.startX[i] = particle.x;
+         this.startY[i] = particle.y;
+         this.startZ[i] = particle.z;
+         this.age[i] = particle.age;
+         this.maxAge[i] = particle.maxAge;
+         this.color[i] = (int)(particle.alpha * 255.0F) << 24 | (int)(particle.red * 255.0F) << 16 | (int)(particle.green * 255.0F) << 8 | (int)(particle.blue * 255.0F);
+         this.light[i] = this.getLight(world, particle.x, particle.y, particle.z);
+         this.scale[i] = spriteBillboardParticle.scale;
+         this.minU[i] = sprite.getMinU();
+         this.maxU[i] = sprite.getMaxU();
+         this.minV[i] = sprite.getMinV();
+         this.maxV[i] = sprite.getMaxV();
+         return true;
+      } else {
+         return false;
+      }
+   }
+
+   public void tick(ClientWorld world) {
+      int i = 0;
+
+      for(int j = this.evicted; j < this.size; ++j) {
+         boolean bl;
+         switch (this.kind) {
+            case FLAME -> bl = this.tickFlame(j);
+            case SUSPEND -> bl = this.tickSuspend(j);
+            case PORTAL -> bl = this.tickPortal(j);
+            default -> throw new MatchException((String)null, (Throwable)null);
+         }
+
+         if (bl) {
+            this.light[j] = this.getLight(world, this.x[j], this.y[j], this.z[j]);
+            if (i != j) {
+               this.copy(j, i);
+            }
+
+            ++i;
+         }
+      }
+
+      this.size = i;
+      this.evicted = 0;
+   }
+
+   private boolean tickFlame(int index) {
+      this.prevX[index] = this.x[index];
+      this.prevY[index] = this.y[index];
+      this.prevZ[index] = this.z[index];
+      if (this.age[index]++ >= this.maxAge[index]) {
+         return false;
+      } else {
+         this.x[index] += this.velocityX[index];
+         this.y[index] += this.velocityY[index];
+         this.z[index] += this.velocityZ[index];
+         this.velocityX[index] *= (double)0.96F;
+         this.velocityY[index] *= (double)0.96F;
+         this.velocityZ[index] *= (double)0.96F;
+         return true;
+      }
+   }
+
+   private boolean tickSuspend(int index) {
+      this.prevX[index] = this.x[index];
+      this.prevY[index] = this.y[index];
+      this.prevZ[index] = this.z[index];
+      if (this.maxAge[index]-- <= 0) {
+         return false;
+      } else {
+         this.x[index] += this.velocityX[index];
+         this.y[index] += this.velocityY[index];
+         this.z[index] += this.velocityZ[index];
+         this.velocityX[index] *= 0.99;
+         this.velocityY[index] *= 0.99;
+         this.velocityZ[index] *= 0.99;
+         return true;
+      }
+   }
+
+   private boolean tickPortal(int index) {
+      this.prevX[index] = this.x[index];
+      this.prevY[index] = this.y[index];
+      this.prevZ[index] = this.z[index];
+      if (this.age[index]++ >= this.maxAge[index]) {
+         return false;
+      } else {
+         float f = (float)this.age[index] / (float)this.maxAge[index];
+         float g = f;
+         f = -f + f * f * 2.0F;
+         f = 1.0F - f;
+         this.x[index] = this.startX[index] + this.velocityX[index] * (double)f;
+         this.y[index] = this.startY[index] + this.velocityY[index] * (double)f + (double)(1.0F - g);
+         this.z[index] = this.startZ[index] + this.velocityZ[index] * (double)f;
+         return true;
+      }
+   }
+
+   public int buildGeometry(BufferBuilder bufferBuilder, Camera camera, float tickDelta, @Nullable Frustum frustum) {
+      Vec3d vec3d = camera.getPos();
+      Quaternionf quaternionf = camera.getRotation();
+      Vector3f vector3f = quaternionf.transform(new Vector3f(1.0F, 0.0F, 0.0F));
+      Vector3f vector3f2 = quaternionf.transform(new Vector3f(0.0F, 1.0F, 0.0F));
+      int i = 0;
+
+      for(int j = this.evicted; j < this.size; ++j) {
+         double d = MathHelper.lerp((double)tickDelta, this.prevX[j], this.x[j]);
+         double e = MathHelper.lerp((double)tickDelta, this.prevY[j], this.y[j]);
+         double g = MathHelper.lerp((double)tickDelta, this.prevZ[j], this.z[j]);
+         float f = this.getSize(j, tickDelta);
+         if (frustum != null && !frustum.isVisible(d - (double)f, e - (double)f, g - (double)f, d + (double)f, e + (double)f, g + (double)f)) {
+            ++i;
+         } else {
+            float h = (float)(d - vec3d.getX());
+            float k = (float)(e - vec3d.getY());
+            float l = (float)(g - vec3d.getZ());
+            float m = vector3f.x * f;
+            float n = vector3f.y * f;
+            float o = vector3f.z * f;
+            float p = vector3f2.x * f;
+            float q = vector3f2.y * f;
+            float r = vector3f2.z * f;
+            int s = this.color[j];
+            int t = this.getBrightness(j, tickDelta);
+            bufferBuilder.particleVertex(h + m - p, k + n - q, l + o - r, this.maxU[j], this.maxV[j], s, t);
+            bufferBuilder.particleVertex(h + m + p, k + n + q, l + o + r, this.maxU[j], this.minV[j], s, t);
+            bufferBuilder.particleVertex(h - m + p, k - n + q, l - o + r, this.minU[j], this.minV[j], s, t);
+            bufferBuilder.particleVertex(h - m - p, k - n - q, l - o - r, this.minU[j], this.maxV[j], s, t);
+         }
+      }
+
+      return i;
+   }
+
+   private float getSize(int index, float tickDelta) {
+      if (this.kind == ParticleBatch.Kind.FLAME) {
+         float f = ((float)this.age[index] + tickDelta) / (float)this.maxAge[index];
+         return this.scale[index] * (1.0F - f * f * 0.5F);
+      } else if (this.kind == ParticleBatch.Kind.PORTAL) {
+         float f = ((float)this.age[index] + tickDelta) / (float)this.maxAge[index];
+         f = 1.0F - f;
+         f *= f;
+         f = 1.0F - f;
+         return this.scale[index] * f;
+      } else {
+         return this.scale[index];
+      }
+   }
+
+   private int getBrightness(int index, float tickDelta) {
+      int i = this.light[index];
+      if (this.kind == ParticleBatch.Kind.FLAME) {
+         float f = ((float)this.age[index] + tickDelta) / (float)this.maxAge[index];
+         f = MathHelper.clamp(f, 0.0F, 1.0F);
+         int j = i & 255;
+         int k = i >> 16 & 255;
+         j += (int)(f * 15.0F * 16.0F);
+         if (j > 240) {
+            j = 240;
+         }
+
+         return j | k << 16;
+      } else if (this.kind == ParticleBatch.Kind.PORTAL) {
+         float f = (float)this.age[index] / (float)this.maxAge[index];
+         f *= f;
+         f *= f;
+         int j = i & 255;
+         int k = i >> 16 & 255;
+         k += (int)(f * 15.0F * 16.0F);
+         if (k > 240) {
+            k = 240;
+         }
+
+         return j | k << 16;
+      } else {
+         return i;
+      }
+   }
+
+   private int getLight(ClientWorld world, double x, double y, double z) {
+      BlockPos blockPos = this.mutablePos.set(x, y, z);
+      return world.isChunkLoaded(blockPos) ? WorldRenderer.getLightmapCoordinates(world, blockPos) : 0;
+   }
+
+   private void copy(int from, int to) {
+      this.x[to] = this.x[from];
+      this.y[to] = this.y[from];
+      this.z[to] = this.z[from];
+      this.prevX[to] = this.prevX[from];
+      this.prevY[to] = this.prevY[from];
+      this.prevZ[to] = this.prevZ[from];
+      this.velocityX[to] = this.velocityX[from];
+      this.velocityY[to] = this.velocityY[from];
+      this.velocityZ[to] = this.velocityZ[from];
+      this.startX[to] = this.startX[from];
+      this.startY[to] = this.startY[from];
+      this.startZ[to] = this.startZ[from];
+      this.age[to] = this.age[from];
+      this.maxAge[to] = this.maxAge[from];
+      this.color[to] = this.color[from];
+      this.light[to] = this.light[from];
+      this.scale[to] = this.scale[from];
+      this.minU[to] = this.minU[from];
+      this.maxU[to] = this.maxU[from];
+      this.minV[to] = this.minV[from];
+      this.maxV[to] = this.maxV[from];
+   }
+
+   private void grow(int capacity) {
+      this.x = Arrays.copyOf(this.x, capacity);
+      this.y = Arrays.copyOf(this.y, capacity);
+      this.z = Arrays.copyOf(this.z, capacity);
+      this.prevX = Arrays.copyOf(this.prevX, capacity);
+      this.prevY = Arrays.copyOf(this.prevY, capacity);
+      this.prevZ = Arrays.copyOf(this.prevZ, capacity);
+      this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+      this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+      this.velocityZ = Arrays.copyOf(this.velocityZ, capacity);
+      this.startX = Arrays.copyOf(this.startX, capacity);
+      this.startY = Arrays.copyOf(this.startY, capacity);
+      this.startZ = Arrays.copyOf(this.startZ, capacity);
+      this.age = Arrays.copyOf(this.age, capacity);
+      this.maxAge = Arrays.copyOf(this.maxAge, capacity);
+      this.color = Arrays.copyOf(this.color, capacity);
+      this.light = Arrays.copyOf(this.light, capacity);
+      this.scale = Arrays.copyOf(this.scale, capacity);
+      this.minU = Arrays.copyOf(this.minU, capacity);
+      this.maxU = Arrays.copyOf(this.maxU, capacity);
+      this.minV = Arrays.copyOf(this.minV, capacity);
+      this.maxV = Arrays.copyOf(this.maxV, capacity);
+   }
+
+   @Environment(EnvType.CLIENT)
+   public static enum Kind {
+      FLAME(FlameParticle.class),
+      SUSPEND(SuspendParticle.class),
+      PORTAL(PortalParticle.class);
+
+      final Class particleClass;
+      final ParticleTextureSheet sheet;
+
+      private Kind(final Class particleClass) {
+         this.particleClass = particleClass;
+         this.sheet = ParticleTextureSheet.PARTICLE_SHEET_OPAQUE;
+      }
+
+      @Nullable
+      public static Kind of(Particle particle) {
+         Class<?> class_ = particle.getClass();
+
+         for(Kind kind : values()) {
+            if (kind.particleClass == class_) {
+               return kind;
+            }
+         }
+
+         return null;
+      }
+   }
+}
@@ -13,10 +13,12 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -29,10 +31,12 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.block.BlockRenderType;
 import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.BufferBuilder;
 import net.minecraft.client.render.BufferRenderer;
 import net.minecraft.client.render.BuiltBuffer;
 import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.Frustum;
 import net.minecraft.client.render.GameRenderer;
 import net.minecraft.client.render.LightmapTextureManager;
 import net.minecraft.client.render.Tessellator;
@@ -61,6 +65,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.util.profiler.Profiler;
 import net.minecraft.util.shape.VoxelShape;
@@ -74,6 +79,12 @@ public class ParticleManager implements ResourceReloader {
    private static final Identifier PARTICLES_PATH = Identifier.ofVanilla("particles");
    private static final int MAX_PARTICLE_COUNT = 16384;
    private static final List PARTICLE_TEXTURE_SHEETS;
+   private static final boolean CULLING = Boolean.parseBoolean(System.getProperty("ParticleManager.culling", "true"));
+   private static final boolean BATCHING = Boolean.parseBoolean(System.getProperty("ParticleManager.batching", "false"));
+   private static final boolean TICK_DECIMATION = Boolean.parseBoolean(System.getProperty("ParticleManager.tickDecimation", "true"));
+   private static final int RENDER_BUDGET = Integer.getInteger("ParticleManager.renderBudget", 16384);
+   private static final double HALF_RATE_TICK_DISTANCE = 1024.0;
+   private static final double QUARTER_RATE_TICK_DISTANCE = 4096.0;
    protected ClientWorld world;
    private final Map particles = Maps.newIdentityHashMap();
    private final Queue newEmitterParticles = Queues.newArrayDeque();
@@ -84,6 +95,12 @@ public class ParticleManager implements ResourceReloader {
    private final Map spriteAwareFactories = Maps.newHashMap();
    private final SpriteAtlasTexture particleAtlasTexture;
    private final Object2IntOpenHashMap groupCounts = new Object2IntOpenHashMap();
+   private final Map particleBatches = Maps.newEnumMap(ParticleBatch.Kind.class);
+   private float[] renderPriorities = new float[256];
+   private int ticks;
+   private int culledParticles;
+   private int skippedParticles;
+   private int renderedParticles;
 
    public ParticleManager(ClientWorld world, TextureManager textureManager) {
       this.particleAtlasTexture = new SpriteAtlasTexture(SpriteAtlasTexture.PARTICLE_ATLAS_TEXTURE);
@@ -362,11 +379,24 @@ public class ParticleManager implements ResourceReloader {
    }
 
    public void tick() {
+      ++this.ticks;
+      Camera camera = MinecraftClient.getInstance().gameRenderer.getCamera();
+      Vec3d vec3d = TICK_DECIMATION && camera.isReady() ? camera.getPos() : null;
       this.particles.forEach((sheet, queue) -> {
          this.world.getProfiler().push(sheet.toString());
-         this.tickParticles(queue);
+         this.tickParticles(queue, sheet != ParticleTextureSheet.CUSTOM && sheet != ParticleTextureSheet.NO_RENDER ? vec3d : null);
          this.world.getProfiler().pop();
       });
+      if (!this.particleBatches.isEmpty()) {
+         this.world.getProfiler().push("batched");
+
+         for(ParticleBatch particleBatch : this.particleBatches.values()) {
+            particleBatch.tick(this.world);
+         }
+
+         this.world.getProfiler().pop();
+      }
+
       if (!this.newEmitterParticles.isEmpty()) {
          List<EmitterParticle> list = Lists.newArrayList();
 
@@ -383,19 +413,33 @@ public class ParticleManager implements ResourceReloader {
       Particle particle;
       if (!this.newParticles.isEmpty()) {
          while((particle = (Particle)this.newParticles.poll()) != null) {
-            ((Queue)this.particles.computeIfAbsent(particle.getType(), (sheet) -> EvictingQueue.create(16384))).add(particle);
+            particle.tickPhase = this.ticks;
+            if (!BATCHING || !this.addToBatch(particle)) {
+               ((Queue)this.particles.computeIfAbsent(particle.getType(), (sheet) -> EvictingQueue.create(16384))).add(particle);
+            }
          }
       }
 
    }
 
-   private void tickParticles(Collection particles) {
+   private boolean addToBatch(Particle particle) {
+      ParticleBatch.Kind kind = ParticleBatch.Kind.of(particle);
+      return kind != null && ((ParticleBatch)this.particleBatches.computeIfAbsent(kind, ParticleBatch::new)).add(particle, this.world);
+   }
+
+   private void tickParticles(Collection particles, @Nullable Vec3d cameraPos) {
       if (!particles.isEmpty()) {
          Iterator<Particle> iterator = particles.iterator();
 
          while(iterator.hasNext()) {
             Particle particle = (Particle)iterator.next();
-            this.tickParticle(particle);
+            int i = cameraPos != null && particle.canDecimateTicks() ? this.getTickInterval(particle, cameraPos) : 1;
+            if (i > 1 && (this.ticks - particle.tickPhase & i - 1) != 0) {
+               particle.skipTick();
+            } else {
+               this.tickParticle(particle, i);
+            }
+
             if (!particle.isAlive()) {
                particle.getGroup().ifPresent((group) -> this.addTo(group, -1));
                iterator.remove();
@@ -405,13 +449,36 @@ public class ParticleManager implements ResourceReloader {
 
    }
 
+   private int getTickInterval(Particle particle, Vec3d cameraPos) {
+      double d = cameraPos.squaredDistanceTo(particle.x, particle.y, particle.z);
+      int i;
+      if (d > QUARTER_RATE_TICK_DISTANCE) {
+         i = 4;
+      } else if (d > HALF_RATE_TICK_DISTANCE) {
+         i = 2;
+      } else {
+         i = 1;
+      }
+
+      if (particle.renderPriority < 0.0F) {
+         i *= 2;
+      }
+
+      return i;
+   }
+
    private void addTo(ParticleGroup group, int count) {
       this.groupCounts.addTo(group, count);
    }
 
-   private void tickParticle(Particle particle) {
+   private void tickParticle(Particle particle, int steps) {
       try {
-         particle.tick();
+         if (steps > 1) {
+            particle.tick(steps);
+         } else {
+            particle.glideTicks = 0;
+            particle.tick();
+         }
       } catch (Throwable throwable) {
          CrashReport crashReport = CrashReport.create(throwable, "Ticking Particle");
          CrashReportSection crashReportSection = crashReport.addElement("Particle being ticked");
@@ -425,27 +492,44 @@ public class ParticleManager implements ResourceReloader {
    }
 
    public void renderParticles(LightmapTextureManager lightmapTextureManager, Camera camera, float tickDelta) {
+      this.renderParticles(lightmapTextureManager, camera, tickDelta, (Frustum)null);
+   }
+
+   public void renderParticles(LightmapTextureManager lightmapTextureManager, Camera camera, float tickDelta, @Nullable Frustum frustum) {
+      float f = CULLING ? this.updateVisibility(camera, tickDelta, frustum) : 0.0F;
       lightmapTextureManager.enable();
       RenderSystem.enableDepthTest();
 
       for(ParticleTextureSheet particleTextureSheet : PARTICLE_TEXTURE_SHEETS) {
          Queue<Particle> queue = (Queue)this.particles.get(particleTextureSheet);
-         if (queue != null && !queue.isEmpty()) {
+         boolean bl = queue != null && !queue.isEmpty();
+         if (bl || this.hasBatchedParticles(particleTextureSheet)) {
             RenderSystem.setShader(GameRenderer::getParticleProgram);
             Tessellator tessellator = Tessellator.getInstance();
             BufferBuilder bufferBuilder = particleTextureSheet.begin(tessellator, this.textureManager);
             if (bufferBuilder != null) {
-               for(Particle particle : queue) {
-                  try {
-                     particle.buildGeometry(bufferBuilder, camera, tickDelta);
-                  } catch (Throwable throwable) {
-                     CrashReport crashReport = CrashReport.create(throwable, "Rendering Particle");
-                     CrashReportSection crashReportSection = crashReport.addElement("Particle being rendered");
-                     Objects.requireNonNull(particle);
-                     crashReportSection.add("Particle", particle::toString);
-                     Objects.requireNonNull(particleTextureSheet);
-                     crashReportSection.add("Particle Type", particleTextureSheet::toString);
-                     throw new CrashException(crashReport);
+               if (bl) {
+                  for(Particle particle : queue) {
+                     if (!CULLING || particleTextureSheet == ParticleTextureSheet.CUSTOM || this.shouldRender(particle, f)) {
+                        try {
+                           particle.buildGeometry(bufferBuilder, camera, tickDelta);
+                        } catch (Throwable throwable) {
+                           CrashReport crashReport = CrashReport.create(throwable, "Rendering Particle");
+                           CrashReportSection crashReportSection = crashReport.addElement("Particle being rendered");
+                           Objects.requireNonNull(particle);
+                           crashReportSection.add("Particle", particle::toString);
+                           Objects.requireNonNull(particleTextureSheet);
+                           crashReportSection.add("Particle Type", particleTextureSheet::toString);
+                           throw new CrashException(crashReport);
+                        }
+                     }
+                  }
+               }
+
+               for(ParticleBatch particleBatch : this.particleBatches.values()) {
+                  if (particleBatch.getSheet() == particleTextureSheet) {
+                     int i = particleBatch.buildGeometry(bufferBuilder, camera, tickDelta, CULLING ? frustum : null);
+                     this.culledParticles += i;
                   }
                }
 
@@ -462,6 +546,75 @@ public class ParticleManager implements ResourceReloader {
       lightmapTextureManager.disable();
    }
 
+   private boolean hasBatchedParticles(ParticleTextureSheet sheet) {
+      for(ParticleBatch particleBatch : this.particleBatches.values()) {
+         if (particleBatch.getSheet() == sheet && !particleBatch.isEmpty()) {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   private float updateVisibility(Camera camera, float tickDelta, @Nullable Frustum frustum) {
+      Vec3d vec3d = camera.getPos();
+      int i = 0;
+      this.culledParticles = 0;
+      this.skippedParticles = 0;
+      this.renderedParticles = 0;
+
+      for(ParticleTextureSheet particleTextureSheet : PARTICLE_TEXTURE_SHEETS) {
+         Queue<Particle> queue = (Queue)this.particles.get(particleTextureSheet);
+         if (particleTextureSheet != ParticleTextureSheet.CUSTOM && queue != null) {
+            for(Particle particle : queue) {
+               Box box = particle.getBoundingBox();
+               double f = (double)particle.getRenderExpansion(tickDelta);
+               double g = particle.prevPosX - particle.x;
+               double h = particle.prevPosY - particle.y;
+               double j = particle.prevPosZ - particle.z;
+               double k = Math.min(box.minX, box.minX + g) - f;
+               double l = Math.min(box.minY, box.minY + h) - f;
+               double m = Math.min(box.minZ, box.minZ + j) - f;
+               double n = Math.max(box.maxX, box.maxX + g) + f;
+               double o = Math.max(box.maxY, box.maxY + h) + f;
+               double p = Math.max(box.maxZ, box.maxZ + j) + f;
+               if (frustum != null && !frustum.isVisible(k, l, m, n, o, p)) {
+                  particle.renderPriority = -1.0F;
+                  ++this.culledParticles;
+               } else {
+                  double d = (n - k + (o - l) + (p - m)) / 3.0;
+                  double e = Math.max(vec3d.squaredDistanceTo(particle.x, particle.y, particle.z), 1.0E-4);
+                  particle.renderPriority = (float)(d * d / e);
+                  if (i == this.renderPriorities.length) {
+                     this.renderPriorities = Arrays.copyOf(this.renderPriorities, i * 2);
+                  }
+
+                  this.renderPriorities[i++] = particle.renderPriority;
+               }
+            }
+         }
+      }
+
+      if (i <= RENDER_BUDGET) {
+         return 0.0F;
+      } else {
+         Arrays.sort(this.renderPriorities, 0, i);
+         return this.renderPriorities[i - RENDER_BUDGET];
+      }
+   }
+
+   private boolean shouldRender(Particle particle, float minPriority) {
+      if (particle.renderPriority < 0.0F) {
+         return false;
+      } else if (particle.renderPriority >= minPriority && this.renderedParticles < RENDER_BUDGET) {
+         ++this.renderedParticles;
+         return true;
+      } else {
+         ++this.skippedParticles;
+         return false;
+      }
+   }
+
    public void setWorld(@Nullable ClientWorld world) {
       this.world = world;
       this.clearParticles();
@@ -538,7 +691,8 @@ public class ParticleManager implements ResourceReloader {
    }
 
    public String getDebugString() {
-      return String.valueOf(this.particles.values().stream().mapToInt(Collection::size).sum());
+      int i = this.particles.values().stream().mapToInt(Collection::size).sum() + this.particleBatches.values().stream().mapToInt(ParticleBatch::size).sum();
+      return CULLING ? String.format(Locale.ROOT, "%d (culled: %d, skipped: %d)", i, this.culledParticles, this.skippedParticles) : String.valueOf(i);
    }
 
    private boolean canAdd(ParticleGroup group) {
@@ -550,6 +704,7 @@ public class ParticleManager implements ResourceReloader {
       this.newParticles.clear();
       this.newEmitterParticles.clear();
       this.groupCounts.clear();
+      this.particleBatches.clear();
    }
 
    static {
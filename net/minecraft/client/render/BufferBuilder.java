@@ -17,6 +17,9 @@ public class BufferBuilder implements VertexConsumer {
    private static final long field_52068 = -1L;
    private static final long field_52069 = -1L;
    private static final boolean LITTLE_ENDIAN;
+   public static final float PACKED_POSITION_OFFSET = 8.0F;
+   public static final float PACKED_POSITION_SCALE = 2048.0F;
+   public static final float PACKED_UV_SCALE = 65535.0F;
    private final BufferAllocator allocator;
    private long vertexPointer = -1L;
    private int vertexCount;
@@ -24,6 +27,8 @@ public class BufferBuilder implements VertexConsumer {
    private final VertexFormat.DrawMode drawMode;
    private final boolean canSkipElementChecks;
    private final boolean hasOverlay;
+   private final boolean packed;
+   private final boolean particle;
    private final int vertexSizeByte;
    private final int requiredMask;
    private final int[] offsetsByElementId;
@@ -31,19 +36,21 @@ public class BufferBuilder implements VertexConsumer {
    private boolean building = true;
 
    public BufferBuilder(BufferAllocator allocator, VertexFormat.DrawMode drawMode, VertexFormat format) {
-      if (!format.has(VertexFormatElement.POSITION)) {
+      if (!format.has(VertexFormatElement.POSITION) && !format.has(VertexFormatElement.PACKED_POSITION)) {
          throw new IllegalArgumentException("Cannot build mesh with no position element");
       } else {
          this.allocator = allocator;
          this.drawMode = drawMode;
          this.format = format;
          this.vertexSizeByte = format.getVertexSizeByte();
-         this.requiredMask = format.getRequiredMask() & ~VertexFormatElement.POSITION.getBit();
+         this.requiredMask = format.getRequiredMask() & ~VertexFormatElement.POSITION.getBit() & ~VertexFormatElement.PACKED_POSITION.getBit();
          this.offsetsByElementId = format.getOffsetsByElementId();
          boolean bl = format == VertexFormats.POSITION_COLOR_TEXTURE_OVERLAY_LIGHT_NORMAL;
          boolean bl2 = format == VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL;
-         this.canSkipElementChecks = bl || bl2;
+         this.packed = format == VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL;
+         this.canSkipElementChecks = bl || bl2 || this.packed;
          this.hasOverlay = bl;
+         this.particle = format == VertexFormats.POSITION_TEXTURE_COLOR_LIGHT;
       }
    }
 
@@ -147,13 +154,38 @@ public class BufferBuilder implements VertexConsumer {
 
    }
 
+   public static short packPosition(float f) {
+      return (short)MathHelper.clamp(Math.round((f + 8.0F) * 2048.0F), 0, 65535);
+   }
+
+   public static float unpackPosition(short s) {
+      return (float)(s & '\uffff') / 2048.0F - 8.0F;
+   }
+
+   public static short packUv(float f) {
+      return (short)MathHelper.clamp(Math.round(f * 65535.0F), 0, 65535);
+   }
+
+   public static float unpackUv(short s) {
+      return (float)(s & '\uffff') / 65535.0F;
+   }
+
    public VertexConsumer vertex(float x, float y, float z) {
-      long l = this.beginVertex() + (long)this.offsetsByElementId[VertexFormatElement.POSITION.id()];
-      this.currentMask = this.requiredMask;
-      MemoryUtil.memPutFloat(l, x);
-      MemoryUtil.memPutFloat(l + 4L, y);
-      MemoryUtil.memPutFloat(l + 8L, z);
-      return this;
+      if (this.packed) {
+         long l = this.beginVertex() + (long)this.offsetsByElementId[VertexFormatElement.PACKED_POSITION.id()];
+         this.currentMask = this.requiredMask;
+         MemoryUtil.memPutShort(l, packPosition(x));
+         MemoryUtil.memPutShort(l + 2L, packPosition(y));
+         MemoryUtil.memPutShort(l + 4L, packPosition(z));
+         return this;
+      } else {
+         long l = this.beginVertex() + (long)this.offsetsByElementId[VertexFormatElement.POSITION.id()];
+         this.currentMask = this.requiredMask;
+         MemoryUtil.memPutFloat(l, x);
+         MemoryUtil.memPutFloat(l + 4L, y);
+         MemoryUtil.memPutFloat(l + 8L, z);
+         return this;
+      }
    }
 
    public VertexConsumer color(int red, int green, int blue, int alpha) {
@@ -178,13 +210,17 @@ public class BufferBuilder implements VertexConsumer {
    }
 
    public VertexConsumer texture(float u, float v) {
-      long l = this.beginElement(VertexFormatElement.UV_0);
-      if (l != -1L) {
-         MemoryUtil.memPutFloat(l, u);
-         MemoryUtil.memPutFloat(l + 4L, v);
-      }
+      if (this.packed) {
+         return this.putUv(packUv(u), packUv(v), VertexFormatElement.PACKED_UV_0);
+      } else {
+         long l = this.beginElement(VertexFormatElement.UV_0);
+         if (l != -1L) {
+            MemoryUtil.memPutFloat(l, u);
+            MemoryUtil.memPutFloat(l + 4L, v);
+         }
 
-      return this;
+         return this;
+      }
    }
 
    public VertexConsumer overlay(int u, int v) {
@@ -239,7 +275,19 @@ public class BufferBuilder implements VertexConsumer {
    }
 
    public void vertex(float x, float y, float z, int color, float u, float v, int overlay, int light, float normalX, float normalY, float normalZ) {
-      if (this.canSkipElementChecks) {
+      if (this.packed) {
+         long l = this.beginVertex();
+         MemoryUtil.memPutShort(l + 0L, packPosition(x));
+         MemoryUtil.memPutShort(l + 2L, packPosition(y));
+         MemoryUtil.memPutShort(l + 4L, packPosition(z));
+         putColor(l + 8L, color);
+         MemoryUtil.memPutShort(l + 12L, packUv(u));
+         MemoryUtil.memPutShort(l + 14L, packUv(v));
+         putInt(l + 16L, light);
+         MemoryUtil.memPutByte(l + 20L, floatToByte(normalX));
+         MemoryUtil.memPutByte(l + 21L, floatToByte(normalY));
+         MemoryUtil.memPutByte(l + 22L, floatToByte(normalZ));
+      } else if (this.canSkipElementChecks) {
          long l = this.beginVertex();
          MemoryUtil.memPutFloat(l + 0L, x);
          MemoryUtil.memPutFloat(l + 4L, y);
@@ -264,6 +312,22 @@ public class BufferBuilder implements VertexConsumer {
       }
    }
 
+   public void particleVertex(float x, float y, float z, float u, float v, int color, int light) {
+      if (this.particle) {
+         long l = this.beginVertex();
+         MemoryUtil.memPutFloat(l + 0L, x);
+         MemoryUtil.memPutFloat(l + 4L, y);
+         MemoryUtil.memPutFloat(l + 8L, z);
+         MemoryUtil.memPutFloat(l + 12L, u);
+         MemoryUtil.memPutFloat(l + 16L, v);
+         putColor(l + 20L, color);
+         putInt(l + 24L, light);
+      } else {
+         this.vertex(x, y, z).texture(u, v).color(color).light(light);
+      }
+
+   }
+
    static {
       LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
    }
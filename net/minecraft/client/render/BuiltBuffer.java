@@ -1,9 +1,12 @@
 package net.minecraft.client.render;
 
+import com.google.common.primitives.Floats;
 import com.mojang.blaze3d.systems.VertexSorter;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntConsumer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.util.BufferAllocator;
@@ -26,7 +29,9 @@ public class BuiltBuffer implements AutoCloseable {
 
    private static Vector3f[] collectCentroids(ByteBuffer buf, int vertexCount, VertexFormat format) {
       int i = format.getOffset(VertexFormatElement.POSITION);
-      if (i == -1) {
+      if (format.has(VertexFormatElement.PACKED_POSITION)) {
+         return collectPackedCentroids(buf, vertexCount, format);
+      } else if (i == -1) {
          throw new IllegalArgumentException("Cannot identify quad centers with no position element");
       } else {
          FloatBuffer floatBuffer = buf.asFloatBuffer();
@@ -51,6 +56,28 @@ public class BuiltBuffer implements AutoCloseable {
       }
    }
 
+   private static Vector3f[] collectPackedCentroids(ByteBuffer buf, int vertexCount, VertexFormat format) {
+      int i = format.getOffset(VertexFormatElement.PACKED_POSITION);
+      int j = format.getVertexSizeByte();
+      int k = j * 4;
+      int l = vertexCount / 4;
+      Vector3f[] vector3fs = new Vector3f[l];
+
+      for(int m = 0; m < l; ++m) {
+         int n = m * k + i;
+         int o = n + j * 2;
+         float f = BufferBuilder.unpackPosition(buf.getShort(n));
+         float g = BufferBuilder.unpackPosition(buf.getShort(n + 2));
+         float h = BufferBuilder.unpackPosition(buf.getShort(n + 4));
+         float p = BufferBuilder.unpackPosition(buf.getShort(o));
+         float q = BufferBuilder.unpackPosition(buf.getShort(o + 2));
+         float r = BufferBuilder.unpackPosition(buf.getShort(o + 4));
+         vector3fs[m] = new Vector3f((f + p) / 2.0F, (g + q) / 2.0F, (h + r) / 2.0F);
+      }
+
+      return vector3fs;
+   }
+
    public ByteBuffer getBuffer() {
       return this.buffer.getBuffer();
    }
@@ -66,16 +93,34 @@ public class BuiltBuffer implements AutoCloseable {
 
    @Nullable
    public SortState sortQuads(BufferAllocator allocator, VertexSorter sorter) {
+      return this.sortQuads(allocator, sorter, false);
+   }
+
+   @Nullable
+   public SortState sortQuads(BufferAllocator allocator, VertexSorter sorter, boolean classify) {
       if (this.drawParameters.mode() != VertexFormat.DrawMode.QUADS) {
          return null;
       } else {
-         Vector3f[] vector3fs = collectCentroids(this.buffer.getBuffer(), this.drawParameters.vertexCount(), this.drawParameters.format());
-         SortState sortState = new SortState(vector3fs, this.drawParameters.indexType());
+         ByteBuffer byteBuffer = this.buffer.getBuffer();
+         Vector3f[] vector3fs = collectCentroids(byteBuffer, this.drawParameters.vertexCount(), this.drawParameters.format());
+         SortState sortState = classify ? SortState.classify(byteBuffer, this.drawParameters.format(), vector3fs, this.drawParameters.indexType()) : new SortState(vector3fs, this.drawParameters.indexType());
          this.sortedBuffer = sortState.sortAndStore(allocator, sorter);
          return sortState;
       }
    }
 
+   private static void getPosition(ByteBuffer buf, VertexFormat format, int vertex, Vector3f dest) {
+      int i = vertex * format.getVertexSizeByte();
+      if (format.has(VertexFormatElement.PACKED_POSITION)) {
+         int j = i + format.getOffset(VertexFormatElement.PACKED_POSITION);
+         dest.set(BufferBuilder.unpackPosition(buf.getShort(j)), BufferBuilder.unpackPosition(buf.getShort(j + 2)), BufferBuilder.unpackPosition(buf.getShort(j + 4)));
+      } else {
+         int j = i + format.getOffset(VertexFormatElement.POSITION);
+         dest.set(buf.getFloat(j), buf.getFloat(j + 4), buf.getFloat(j + 8));
+      }
+
+   }
+
    public void close() {
       this.buffer.close();
       if (this.sortedBuffer != null) {
@@ -85,20 +130,250 @@ public class BuiltBuffer implements AutoCloseable {
    }
 
    @Environment(EnvType.CLIENT)
-   public static record SortState(Vector3f[] centroids, VertexFormat.IndexType indexType) {
+   public static final class SortState {
+      private static final int MAX_INSERTION_SHIFTS_PER_QUAD = 8;
+      private final Vector3f[] centroids;
+      private final VertexFormat.IndexType indexType;
+      private final Type type;
+      private final int[] order;
+      @Nullable
+      private float[] distances;
+      @Nullable
+      private int[] keys;
+      @Nullable
+      private int[] scratchOrder;
       @Nullable
-      public BufferAllocator.CloseableBuffer sortAndStore(BufferAllocator allocator, VertexSorter sorter) {
-         int[] is = sorter.sort(this.centroids);
-         long l = allocator.allocate(is.length * 6 * this.indexType.size);
-         IntConsumer intConsumer = this.getStorer(l, this.indexType);
-
-         for(int i : is) {
-            intConsumer.accept(i * 4 + 0);
-            intConsumer.accept(i * 4 + 1);
-            intConsumer.accept(i * 4 + 2);
-            intConsumer.accept(i * 4 + 2);
-            intConsumer.accept(i * 4 + 3);
-            intConsumer.accept(i * 4 + 0);
+      private int[] scratchKeys;
+      @Nullable
+      private int[] counts;
+
+      public SortState(Vector3f[] centroids, VertexFormat.IndexType indexType) {
+         this(centroids, indexType, BuiltBuffer.SortState.Type.DYNAMIC, new int[centroids.length]);
+      }
+
+      private SortState(Vector3f[] centroids, VertexFormat.IndexType indexType, Type type, int[] order) {
+         this.centroids = centroids;
+         this.indexType = indexType;
+         this.type = type;
+         this.order = order;
+      }
+
+      static SortState classify(ByteBuffer buf, VertexFormat format, Vector3f[] centroids, VertexFormat.IndexType indexType) {
+         Vector3f vector3f = new Vector3f();
+         Vector3f vector3f2 = new Vector3f();
+         Vector3f vector3f3 = new Vector3f();
+         Vector3f vector3f4 = new Vector3f();
+         Vector3f vector3f5 = null;
+         float f = 0.0F;
+         boolean bl = true;
+         boolean bl2 = true;
+
+         for(int i = 0; i < centroids.length && (bl || bl2); ++i) {
+            getPosition(buf, format, i * 4, vector3f);
+            getPosition(buf, format, i * 4 + 2, vector3f2);
+            getPosition(buf, format, i * 4 + 1, vector3f3);
+            getPosition(buf, format, i * 4 + 3, vector3f4);
+            vector3f2.sub(vector3f);
+            vector3f4.sub(vector3f3);
+            vector3f2.cross(vector3f4);
+            if (vector3f2.lengthSquared() < 1.0E-12F) {
+               bl = false;
+               bl2 = false;
+            } else {
+               vector3f2.normalize();
+               if (vector3f5 == null) {
+                  vector3f5 = new Vector3f(vector3f2);
+                  f = vector3f5.dot(centroids[i]);
+               } else {
+                  float g = vector3f2.dot(vector3f5);
+                  if (g < 0.999F) {
+                     bl = false;
+                  }
+
+                  if (Math.abs(g) < 0.999F || Math.abs(vector3f5.dot(centroids[i]) - f) > 0.001F) {
+                     bl2 = false;
+                  }
+               }
+            }
+         }
+
+         int[] is = new int[centroids.length];
+
+         for(int i = 0; i < is.length; is[i] = i++) {
+         }
+
+         if (vector3f5 != null && bl2) {
+            return new SortState(centroids, indexType, BuiltBuffer.SortState.Type.NONE, is);
+         } else if (vector3f5 != null && bl) {
+            float[] fs = new float[centroids.length];
+
+            for(int i = 0; i < fs.length; ++i) {
+               fs[i] = vector3f5.dot(centroids[i]);
+            }
+
+            IntArrays.mergeSort(is, (a, b) -> Floats.compare(fs[a], fs[b]));
+            return new SortState(centroids, indexType, BuiltBuffer.SortState.Type.STATIC, is);
+         } else {
+            return new SortState(centroids, indexType, BuiltBuffer.SortState.Type.DYNAMIC, is);
+         }
+      }
+
+      public Vector3f[] centroids() {
+         return this.centroids;
+      }
+
+      public VertexFormat.IndexType indexType() {
+         return this.indexType;
+      }
+
+      public Type getType() {
+         return this.type;
+      }
+
+      public boolean needsResort() {
+         return this.type == BuiltBuffer.SortState.Type.DYNAMIC;
+      }
+
+      @Nullable
+      public synchronized BufferAllocator.CloseableBuffer sortAndStore(BufferAllocator allocator, VertexSorter sorter) {
+         if (this.type != BuiltBuffer.SortState.Type.DYNAMIC) {
+            return this.store(allocator);
+         } else {
+            int[] is = sorter.sort(this.centroids);
+            System.arraycopy(is, 0, this.order, 0, is.length);
+            long l = allocator.allocate(is.length * 6 * this.indexType.size);
+            IntConsumer intConsumer = this.getStorer(l, this.indexType);
+
+            for(int i : is) {
+               intConsumer.accept(i * 4 + 0);
+               intConsumer.accept(i * 4 + 1);
+               intConsumer.accept(i * 4 + 2);
+               intConsumer.accept(i * 4 + 2);
+               intConsumer.accept(i * 4 + 3);
+               intConsumer.accept(i * 4 + 0);
+            }
+
+            return allocator.getAllocated();
+         }
+      }
+
+      @Nullable
+      public synchronized BufferAllocator.CloseableBuffer sortAndStore(BufferAllocator allocator, float cameraX, float cameraY, float cameraZ) {
+         if (this.type == BuiltBuffer.SortState.Type.DYNAMIC) {
+            this.resort(cameraX, cameraY, cameraZ);
+         }
+
+         return this.store(allocator);
+      }
+
+      private void resort(float cameraX, float cameraY, float cameraZ) {
+         int i = this.order.length;
+         if (this.distances == null) {
+            this.distances = new float[i];
+         }
+
+         float[] fs = this.distances;
+
+         for(int j = 0; j < i; ++j) {
+            fs[j] = this.centroids[j].distanceSquared(cameraX, cameraY, cameraZ);
+         }
+
+         int[] is = this.order;
+         int k = i * 8;
+
+         for(int j = 1; j < i; ++j) {
+            int l = is[j];
+            float f = fs[l];
+
+            int m;
+            for(m = j - 1; m >= 0 && fs[is[m]] < f; --m) {
+               is[m + 1] = is[m];
+               if (--k < 0) {
+                  is[m] = l;
+                  this.radixSort();
+                  return;
+               }
+            }
+
+            is[m + 1] = l;
+         }
+
+      }
+
+      private void radixSort() {
+         int i = this.order.length;
+         if (this.keys == null) {
+            this.keys = new int[i];
+            this.scratchOrder = new int[i];
+            this.scratchKeys = new int[i];
+            this.counts = new int[256];
+         }
+
+         int[] is = this.order;
+         int[] js = this.keys;
+         int[] ks = this.scratchOrder;
+         int[] ls = this.scratchKeys;
+         int[] ms = this.counts;
+
+         for(int j = 0; j < i; ++j) {
+            js[j] = Integer.MAX_VALUE - Float.floatToRawIntBits(this.distances[is[j]]);
+         }
+
+         for(int j = 0; j < 32; j += 8) {
+            Arrays.fill(ms, 0);
+
+            for(int k = 0; k < i; ++k) {
+               ++ms[js[k] >>> j & 255];
+            }
+
+            int k = 0;
+
+            for(int l = 0; l < 256; ++l) {
+               int n = ms[l];
+               ms[l] = k;
+               k += n;
+            }
+
+            for(int l = 0; l < i; ++l) {
+               int n = ms[js[l] >>> j & 255]++;
+               ks[n] = is[l];
+               ls[n] = js[l];
+            }
+
+            int[] ns = is;
+            is = ks;
+            ks = ns;
+            ns = js;
+            js = ls;
+            ls = ns;
+         }
+
+      }
+
+      private BufferAllocator.CloseableBuffer store(BufferAllocator allocator) {
+         long l = allocator.allocate(this.order.length * 6 * this.indexType.size);
+         if (this.indexType == VertexFormat.IndexType.SHORT) {
+            for(int i : this.order) {
+               int j = i * 4;
+               MemoryUtil.memPutShort(l, (short)j);
+               MemoryUtil.memPutShort(l + 2L, (short)(j + 1));
+               MemoryUtil.memPutShort(l + 4L, (short)(j + 2));
+               MemoryUtil.memPutShort(l + 6L, (short)(j + 2));
+               MemoryUtil.memPutShort(l + 8L, (short)(j + 3));
+               MemoryUtil.memPutShort(l + 10L, (short)j);
+               l += 12L;
+            }
+         } else {
+            for(int i : this.order) {
+               int j = i * 4;
+               MemoryUtil.memPutInt(l, j);
+               MemoryUtil.memPutInt(l + 4L, j + 1);
+               MemoryUtil.memPutInt(l + 8L, j + 2);
+               MemoryUtil.memPutInt(l + 12L, j + 2);
+               MemoryUtil.memPutInt(l + 16L, j + 3);
+               MemoryUtil.memPutInt(l + 20L, j);
+               l += 24L;
+            }
          }
 
          return allocator.getAllocated();
@@ -115,6 +390,13 @@ public class BuiltBuffer implements AutoCloseable {
 
          return var10000;
       }
+
+      @Environment(EnvType.CLIENT)
+      public static enum Type {
+         NONE,
+         STATIC,
+         DYNAMIC;
+      }
    }
 
    @Environment(EnvType.CLIENT)
@@ -1,18 +1,18 @@
 package net.minecraft.client.render;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Queues;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -76,9 +76,9 @@ public class ChunkRenderingDataPreparer {
    }
 
    public void method_52828(Frustum frustum, List list) {
-      for(ChunkInfo chunkInfo : ((class_8681)this.field_45624.get()).storage().chunks) {
-         if (frustum.isVisible(chunkInfo.chunk.getBoundingBox())) {
-            list.add(chunkInfo.chunk);
+      for(ChunkBuilder.BuiltChunk builtChunk : ((class_8681)this.field_45624.get()).storage().chunks) {
+         if (frustum.isVisible(builtChunk.getBoundingBox())) {
+            list.add(builtChunk);
          }
       }
 
@@ -128,10 +128,9 @@ public class ChunkRenderingDataPreparer {
       this.field_45622 = Util.getMainWorkerExecutor().submit(() -> {
          class_8681 lv = new class_8681(this.field_45623.chunks.length);
          this.field_45625.set(lv.events);
-         Queue<ChunkInfo> queue = Queues.newArrayDeque();
-         this.method_52821(camera, queue);
-         queue.forEach((chunkInfo) -> lv.storage.field_45627.setInfo(chunkInfo.chunk, chunkInfo));
-         this.method_52825(lv.storage, vec3d, queue, bl, (builtChunk) -> {
+         IntArrayFIFOQueue intArrayFIFOQueue = new IntArrayFIFOQueue();
+         this.method_52821(camera, lv.storage, intArrayFIFOQueue);
+         this.method_52825(lv.storage, vec3d, intArrayFIFOQueue, bl, (builtChunk) -> {
          });
          this.field_45624.set(lv);
          this.field_45625.set((Object)null);
@@ -143,13 +142,12 @@ public class ChunkRenderingDataPreparer {
       class_8681 lv = (class_8681)this.field_45624.get();
       this.method_52823(lv);
       if (!lv.events.sectionsToPropagateFrom.isEmpty()) {
-         Queue<ChunkInfo> queue = Queues.newArrayDeque();
+         IntArrayFIFOQueue intArrayFIFOQueue = new IntArrayFIFOQueue();
 
          while(!lv.events.sectionsToPropagateFrom.isEmpty()) {
             ChunkBuilder.BuiltChunk builtChunk = (ChunkBuilder.BuiltChunk)lv.events.sectionsToPropagateFrom.poll();
-            ChunkInfo chunkInfo = lv.storage.field_45627.getInfo(builtChunk);
-            if (chunkInfo != null && chunkInfo.chunk == builtChunk) {
-               queue.add(chunkInfo);
+            if (lv.storage.hasInfo(builtChunk.index)) {
+               intArrayFIFOQueue.enqueue(builtChunk.index);
             }
          }
 
@@ -160,7 +158,7 @@ public class ChunkRenderingDataPreparer {
             }
 
          };
-         this.method_52825(lv.storage, vec3d, queue, bl, consumer);
+         this.method_52825(lv.storage, vec3d, intArrayFIFOQueue, bl, consumer);
       }
 
    }
@@ -187,7 +185,7 @@ public class ChunkRenderingDataPreparer {
       arg.chunksWhichReceivedNeighbors.add(ChunkPos.toLong(chunkPos.x, chunkPos.z + 1));
    }
 
-   private void method_52821(Camera camera, Queue queue) {
+   private void method_52821(Camera camera, RenderableChunks renderableChunks, IntArrayFIFOQueue queue) {
       int i = 16;
       Vec3d vec3d = camera.getPos();
       BlockPos blockPos = camera.getBlockPos();
@@ -199,63 +197,73 @@ public class ChunkRenderingDataPreparer {
          int k = MathHelper.floor(vec3d.x / (double)16.0F) * 16;
          int l = MathHelper.floor(vec3d.z / (double)16.0F) * 16;
          int m = this.field_45623.getViewDistance();
-         List<ChunkInfo> list = Lists.newArrayList();
+         List<ChunkBuilder.BuiltChunk> list = Lists.newArrayList();
 
          for(int n = -m; n <= m; ++n) {
             for(int o = -m; o <= m; ++o) {
                ChunkBuilder.BuiltChunk builtChunk2 = this.field_45623.getRenderedChunk(new BlockPos(k + ChunkSectionPos.getOffsetPos(n, 8), j, l + ChunkSectionPos.getOffsetPos(o, 8)));
                if (builtChunk2 != null && this.method_52832(blockPos, builtChunk2.getOrigin())) {
                   Direction direction = bl ? Direction.DOWN : Direction.UP;
-                  ChunkInfo chunkInfo = new ChunkInfo(builtChunk2, direction, 0);
-                  chunkInfo.updateCullingState(chunkInfo.cullingState, direction);
+                  int p = 1 << direction.ordinal();
                   if (n > 0) {
-                     chunkInfo.updateCullingState(chunkInfo.cullingState, Direction.EAST);
+                     p |= 1 << Direction.EAST.ordinal();
                   } else if (n < 0) {
-                     chunkInfo.updateCullingState(chunkInfo.cullingState, Direction.WEST);
+                     p |= 1 << Direction.WEST.ordinal();
                   }
 
                   if (o > 0) {
-                     chunkInfo.updateCullingState(chunkInfo.cullingState, Direction.SOUTH);
+                     p |= 1 << Direction.SOUTH.ordinal();
                   } else if (o < 0) {
-                     chunkInfo.updateCullingState(chunkInfo.cullingState, Direction.NORTH);
+                     p |= 1 << Direction.NORTH.ordinal();
                   }
 
-                  list.add(chunkInfo);
+                  renderableChunks.setInfo(builtChunk2.index, (byte)(1 << direction.ordinal()), (byte)p, 0);
+                  list.add(builtChunk2);
                }
             }
          }
 
-         list.sort(Comparator.comparingDouble((chunkInfox) -> blockPos.getSquaredDistance(chunkInfox.chunk.getOrigin().add(8, 8, 8))));
-         queue.addAll(list);
+         list.sort(Comparator.comparingDouble((builtChunkx) -> blockPos.getSquaredDistance(builtChunkx.getOrigin().add(8, 8, 8))));
+
+         for(ChunkBuilder.BuiltChunk builtChunk3 : list) {
+            queue.enqueue(builtChunk3.index);
+         }
       } else {
-         queue.add(new ChunkInfo(builtChunk, (Direction)null, 0));
+         renderableChunks.setInfo(builtChunk.index, (byte)0, (byte)0, 0);
+         queue.enqueue(builtChunk.index);
       }
 
    }
 
-   private void method_52825(RenderableChunks renderableChunks, Vec3d vec3d, Queue queue, boolean bl, Consumer consumer) {
+   private void method_52825(RenderableChunks renderableChunks, Vec3d vec3d, IntArrayFIFOQueue queue, boolean bl, Consumer consumer) {
       int i = 16;
       BlockPos blockPos = new BlockPos(MathHelper.floor(vec3d.x / (double)16.0F) * 16, MathHelper.floor(vec3d.y / (double)16.0F) * 16, MathHelper.floor(vec3d.z / (double)16.0F) * 16);
       BlockPos blockPos2 = blockPos.add(8, 8, 8);
+      ChunkBuilder.BuiltChunk[] builtChunks = this.field_45623.chunks;
+      HeightLimitView heightLimitView = this.field_45623.getWorld();
+      BlockPos.Mutable mutable = new BlockPos.Mutable();
 
       while(!queue.isEmpty()) {
-         ChunkInfo chunkInfo = (ChunkInfo)queue.poll();
-         ChunkBuilder.BuiltChunk builtChunk = chunkInfo.chunk;
-         if (renderableChunks.chunks.add(chunkInfo)) {
-            consumer.accept(chunkInfo.chunk);
+         int j = queue.dequeueInt();
+         ChunkBuilder.BuiltChunk builtChunk = builtChunks[j];
+         if (renderableChunks.add(builtChunk)) {
+            consumer.accept(builtChunk);
          }
 
+         int k = renderableChunks.directions[j];
+         int l = renderableChunks.cullingStates[j];
+         int m = renderableChunks.propagationLevels[j];
          boolean bl2 = Math.abs(builtChunk.getOrigin().getX() - blockPos.getX()) > 60 || Math.abs(builtChunk.getOrigin().getY() - blockPos.getY()) > 60 || Math.abs(builtChunk.getOrigin().getZ() - blockPos.getZ()) > 60;
 
          for(Direction direction : field_45618) {
             ChunkBuilder.BuiltChunk builtChunk2 = this.method_52831(blockPos, builtChunk, direction);
-            if (builtChunk2 != null && (!bl || !chunkInfo.canCull(direction.getOpposite()))) {
-               if (bl && chunkInfo.hasAnyDirection()) {
+            if (builtChunk2 != null && (!bl || (l & 1 << direction.getOpposite().ordinal()) == 0)) {
+               if (bl && k != 0) {
                   ChunkBuilder.ChunkData chunkData = builtChunk.getData();
                   boolean bl3 = false;
 
-                  for(int j = 0; j < field_45618.length; ++j) {
-                     if (chunkInfo.hasDirection(j) && chunkData.isVisibleThrough(field_45618[j].getOpposite(), direction)) {
+                  for(int n = 0; n < field_45618.length; ++n) {
+                     if ((k & 1 << n) != 0 && chunkData.isVisibleThrough(field_45618[n].getOpposite(), direction)) {
                         bl3 = true;
                         break;
                      }
@@ -267,76 +275,36 @@ public class ChunkRenderingDataPreparer {
                }
 
                if (bl && bl2) {
-                  BlockPos blockPos3;
-                  byte var10001;
-                  label130: {
-                     label129: {
-                        blockPos3 = builtChunk2.getOrigin();
-                        if (direction.getAxis() == Axis.X) {
-                           if (blockPos2.getX() > blockPos3.getX()) {
-                              break label129;
-                           }
-                        } else if (blockPos2.getX() < blockPos3.getX()) {
-                           break label129;
-                        }
-
-                        var10001 = 0;
-                        break label130;
-                     }
-
-                     var10001 = 16;
-                  }
-
-                  byte var10002;
-                  label122: {
-                     label121: {
-                        if (direction.getAxis() == Axis.Y) {
-                           if (blockPos2.getY() > blockPos3.getY()) {
-                              break label121;
-                           }
-                        } else if (blockPos2.getY() < blockPos3.getY()) {
-                           break label121;
-                        }
-
-                        var10002 = 0;
-                        break label122;
-                     }
-
-                     var10002 = 16;
-                  }
-
-                  byte var10003;
-                  label114: {
-                     label113: {
-                        if (direction.getAxis() == Axis.Z) {
-                           if (blockPos2.getZ() > blockPos3.getZ()) {
-                              break label113;
-                           }
-                        } else if (blockPos2.getZ() < blockPos3.getZ()) {
-                           break label113;
-                        }
-
-                        var10003 = 0;
-                        break label114;
-                     }
-
-                     var10003 = 16;
-                  }
-
-                  BlockPos blockPos4 = blockPos3.add(var10001, var10002, var10003);
-                  Vec3d vec3d2 = new Vec3d((double)blockPos4.getX(), (double)blockPos4.getY(), (double)blockPos4.getZ());
-                  Vec3d vec3d3 = vec3d.subtract(vec3d2).normalize().multiply(field_45620);
+                  BlockPos blockPos3 = builtChunk2.getOrigin();
+                  int n = direction.getAxis() == Axis.X ? (blockPos2.getX() > blockPos3.getX() ? 16 : 0) : (blockPos2.getX() < blockPos3.getX() ? 16 : 0);
+                  int o = direction.getAxis() == Axis.Y ? (blockPos2.getY() > blockPos3.getY() ? 16 : 0) : (blockPos2.getY() < blockPos3.getY() ? 16 : 0);
+                  int p = direction.getAxis() == Axis.Z ? (blockPos2.getZ() > blockPos3.getZ() ? 16 : 0) : (blockPos2.getZ() < blockPos3.getZ() ? 16 : 0);
+                  double d = (double)(blockPos3.getX() + n);
+                  double e = (double)(blockPos3.getY() + o);
+                  double f = (double)(blockPos3.getZ() + p);
+                  double g = vec3d.x - d;
+                  double h = vec3d.y - e;
+                  double q = vec3d.z - f;
+                  double r = Math.sqrt(g * g + h * h + q * q);
+                  double s = r < 1.0E-5 ? (double)0.0F : field_45620 / r;
+                  double t = g * s;
+                  double u = h * s;
+                  double v = q * s;
                   boolean bl4 = true;
 
-                  while(vec3d.subtract(vec3d2).lengthSquared() > (double)3600.0F) {
-                     vec3d2 = vec3d2.add(vec3d3);
-                     HeightLimitView heightLimitView = this.field_45623.getWorld();
-                     if (vec3d2.y > (double)heightLimitView.getTopY() || vec3d2.y < (double)heightLimitView.getBottomY()) {
+                  while(g * g + h * h + q * q > (double)3600.0F) {
+                     d += t;
+                     e += u;
+                     f += v;
+                     g = vec3d.x - d;
+                     h = vec3d.y - e;
+                     q = vec3d.z - f;
+                     if (e > (double)heightLimitView.getTopY() || e < (double)heightLimitView.getBottomY()) {
                         break;
                      }
 
-                     ChunkBuilder.BuiltChunk builtChunk3 = this.field_45623.getRenderedChunk(BlockPos.ofFloored(vec3d2.x, vec3d2.y, vec3d2.z));
-                     if (builtChunk3 == null || renderableChunks.field_45627.getInfo(builtChunk3) == null) {
+                     ChunkBuilder.BuiltChunk builtChunk3 = this.field_45623.getRenderedChunk(mutable.set(d, e, f));
+                     if (builtChunk3 == null || !renderableChunks.hasInfo(builtChunk3.index)) {
                         bl4 = false;
                         break;
                      }
@@ -347,18 +315,18 @@ public class ChunkRenderingDataPreparer {
                   }
                }
 
-               ChunkInfo chunkInfo2 = renderableChunks.field_45627.getInfo(builtChunk2);
-               if (chunkInfo2 != null) {
-                  chunkInfo2.addDirection(direction);
+               int n = builtChunk2.index;
+               if (renderableChunks.hasInfo(n)) {
+                  renderableChunks.directions[n] = (byte)(renderableChunks.directions[n] | 1 << direction.ordinal());
                } else {
-                  ChunkInfo chunkInfo3 = new ChunkInfo(builtChunk2, direction, chunkInfo.propagationLevel + 1);
-                  chunkInfo3.updateCullingState(chunkInfo.cullingState, direction);
+                  byte b = (byte)(1 << direction.ordinal());
+                  byte c = (byte)(l | 1 << direction.ordinal());
                   if (builtChunk2.shouldBuild()) {
-                     queue.add(chunkInfo3);
-                     renderableChunks.field_45627.setInfo(builtChunk2, chunkInfo3);
+                     queue.enqueue(n);
+                     renderableChunks.setInfo(n, b, c, m + 1);
                   } else if (this.method_52832(blockPos, builtChunk2.getOrigin())) {
-                     renderableChunks.field_45627.setInfo(builtChunk2, chunkInfo3);
-                     ((List)renderableChunks.field_45628.computeIfAbsent(ChunkPos.toLong(builtChunk2.getOrigin()), (l) -> new ArrayList())).add(builtChunk2);
+                     renderableChunks.setInfo(n, b, c, m + 1);
+                     ((List)renderableChunks.field_45628.computeIfAbsent(ChunkPos.toLong(builtChunk2.getOrigin()), (lx) -> new ArrayList())).add(builtChunk2);
                   }
                }
             }
@@ -388,7 +356,9 @@ public class ChunkRenderingDataPreparer {
    @Nullable
    @Debug
    protected ChunkInfo method_52837(ChunkBuilder.BuiltChunk builtChunk) {
-      return ((class_8681)this.field_45624.get()).storage.field_45627.getInfo(builtChunk);
+      RenderableChunks renderableChunks = ((class_8681)this.field_45624.get()).storage;
+      int i = builtChunk.index;
+      return renderableChunks.hasInfo(i) ? new ChunkInfo(builtChunk, renderableChunks.directions[i], renderableChunks.propagationLevels[i]) : null;
    }
 
    @Environment(EnvType.CLIENT)
@@ -396,83 +366,59 @@ public class ChunkRenderingDataPreparer {
    protected static class ChunkInfo {
       @Debug
       protected final ChunkBuilder.BuiltChunk chunk;
-      private byte direction;
-      byte cullingState;
+      private final byte direction;
       @Debug
       protected final int propagationLevel;
 
-      ChunkInfo(ChunkBuilder.BuiltChunk chunk, @Nullable Direction direction, int propagationLevel) {
+      ChunkInfo(ChunkBuilder.BuiltChunk chunk, byte direction, int propagationLevel) {
          this.chunk = chunk;
-         if (direction != null) {
-            this.addDirection(direction);
-         }
-
+         this.direction = direction;
          this.propagationLevel = propagationLevel;
       }
 
-      void updateCullingState(byte parentCullingState, Direction from) {
-         this.cullingState = (byte)(this.cullingState | parentCullingState | 1 << from.ordinal());
-      }
-
-      boolean canCull(Direction from) {
-         return (this.cullingState & 1 << from.ordinal()) > 0;
-      }
-
-      void addDirection(Direction direction) {
-         this.direction = (byte)(this.direction | this.direction | 1 << direction.ordinal());
-      }
-
       @Debug
       protected boolean hasDirection(int ordinal) {
          return (this.direction & 1 << ordinal) > 0;
       }
-
-      boolean hasAnyDirection() {
-         return this.direction != 0;
-      }
-
-      public int hashCode() {
-         return this.chunk.getOrigin().hashCode();
-      }
-
-      public boolean equals(Object o) {
-         if (!(o instanceof ChunkInfo chunkInfo)) {
-            return false;
-         } else {
-            return this.chunk.getOrigin().equals(chunkInfo.chunk.getOrigin());
-         }
-      }
    }
 
    @Environment(EnvType.CLIENT)
-   static class ChunkInfoList {
-      private final ChunkInfo[] current;
+   static class RenderableChunks {
+      final byte[] directions;
+      final byte[] cullingStates;
+      final int[] propagationLevels;
+      private final BitSet added;
+      public final List chunks;
+      public final Long2ObjectMap field_45628;
 
-      ChunkInfoList(int size) {
-         this.current = new ChunkInfo[size];
+      public RenderableChunks(int chunkCount) {
+         this.directions = new byte[chunkCount];
+         this.cullingStates = new byte[chunkCount];
+         this.propagationLevels = new int[chunkCount];
+         Arrays.fill(this.propagationLevels, -1);
+         this.added = new BitSet(chunkCount);
+         this.chunks = new ArrayList(chunkCount);
+         this.field_45628 = new Long2ObjectOpenHashMap();
       }
 
-      public void setInfo(ChunkBuilder.BuiltChunk chunk, ChunkInfo info) {
-         this.current[chunk.index] = info;
+      boolean hasInfo(int index) {
+         return index >= 0 && index < this.propagationLevels.length && this.propagationLevels[index] >= 0;
       }
 
-      @Nullable
-      public ChunkInfo getInfo(ChunkBuilder.BuiltChunk chunk) {
-         int i = chunk.index;
-         return i >= 0 && i < this.current.length ? this.current[i] : null;
+      void setInfo(int index, byte direction, byte cullingState, int propagationLevel) {
+         this.directions[index] = direction;
+         this.cullingStates[index] = cullingState;
+         this.propagationLevels[index] = propagationLevel;
       }
-   }
-
-   @Environment(EnvType.CLIENT)
-   static class RenderableChunks {
-      public final ChunkInfoList field_45627;
-      public final LinkedHashSet chunks;
-      public final Long2ObjectMap field_45628;
 
-      public RenderableChunks(int chunkCount) {
-         this.field_45627 = new ChunkInfoList(chunkCount);
-         this.chunks = new LinkedHashSet(chunkCount);
-         this.field_45628 = new Long2ObjectOpenHashMap();
+      boolean add(ChunkBuilder.BuiltChunk chunk) {
+         if (this.added.get(chunk.index)) {
+            return false;
+         } else {
+            this.added.set(chunk.index);
+            this.chunks.add(chunk);
+            return true;
+         }
       }
    }
 
@@ -146,6 +146,16 @@ public class GameRenderer implements AutoCloseable {
    @Nullable
    private static ShaderProgram renderTypeSolidProgram;
    @Nullable
+   private static ShaderProgram renderTypeSolidPackedProgram;
+   @Nullable
+   private static ShaderProgram renderTypeCutoutMippedPackedProgram;
+   @Nullable
+   private static ShaderProgram renderTypeCutoutPackedProgram;
+   @Nullable
+   private static ShaderProgram renderTypeTranslucentPackedProgram;
+   @Nullable
+   private static ShaderProgram renderTypeTripwirePackedProgram;
+   @Nullable
    private static ShaderProgram renderTypeCutoutMippedProgram;
    @Nullable
    private static ShaderProgram renderTypeCutoutProgram;
@@ -501,6 +511,11 @@ public class GameRenderer implements AutoCloseable {
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_text_intensity_see_through", VertexFormats.POSITION_COLOR_TEXTURE_LIGHT), (Consumer)(program) -> renderTypeTextIntensitySeeThroughProgram = program));
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_lightning", VertexFormats.POSITION_COLOR), (Consumer)(program) -> renderTypeLightningProgram = program));
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_tripwire", VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeTripwireProgram = program));
+         list2.add(Pair.of(new ShaderProgram(factory, "rendertype_solid_packed", VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeSolidPackedProgram = program));
+         list2.add(Pair.of(new ShaderProgram(factory, "rendertype_cutout_mipped_packed", VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeCutoutMippedPackedProgram = program));
+         list2.add(Pair.of(new ShaderProgram(factory, "rendertype_cutout_packed", VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeCutoutPackedProgram = program));
+         list2.add(Pair.of(new ShaderProgram(factory, "rendertype_translucent_packed", VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeTranslucentPackedProgram = program));
+         list2.add(Pair.of(new ShaderProgram(factory, "rendertype_tripwire_packed", VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL), (Consumer)(program) -> renderTypeTripwirePackedProgram = program));
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_end_portal", VertexFormats.POSITION), (Consumer)(program) -> renderTypeEndPortalProgram = program));
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_end_gateway", VertexFormats.POSITION), (Consumer)(program) -> renderTypeEndGatewayProgram = program));
          list2.add(Pair.of(new ShaderProgram(factory, "rendertype_clouds", VertexFormats.POSITION_TEXTURE_COLOR_NORMAL), (Consumer)(program) -> renderTypeCloudsProgram = program));
@@ -1161,6 +1176,31 @@ public class GameRenderer implements AutoCloseable {
       return renderTypeSolidProgram;
    }
 
+   @Nullable
+   public static ShaderProgram getRenderTypeSolidPackedProgram() {
+      return renderTypeSolidPackedProgram;
+   }
+
+   @Nullable
+   public static ShaderProgram getRenderTypeCutoutMippedPackedProgram() {
+      return renderTypeCutoutMippedPackedProgram;
+   }
+
+   @Nullable
+   public static ShaderProgram getRenderTypeCutoutPackedProgram() {
+      return renderTypeCutoutPackedProgram;
+   }
+
+   @Nullable
+   public static ShaderProgram getRenderTypeTranslucentPackedProgram() {
+      return renderTypeTranslucentPackedProgram;
+   }
+
+   @Nullable
+   public static ShaderProgram getRenderTypeTripwirePackedProgram() {
+      return renderTypeTripwirePackedProgram;
+   }
+
    @Nullable
    public static ShaderProgram getRenderTypeCutoutMippedProgram() {
       return renderTypeCutoutMippedProgram;
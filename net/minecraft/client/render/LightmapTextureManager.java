@@ -1,6 +1,7 @@
 package net.minecraft.client.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
+import java.util.Arrays;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.MinecraftClient;
@@ -13,7 +14,7 @@ import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.dimension.DimensionType;
-import org.joml.Vector3f;
+import org.jetbrains.annotations.Nullable;
 
 @Environment(EnvType.CLIENT)
 public class LightmapTextureManager implements AutoCloseable {
@@ -27,6 +28,11 @@ public class LightmapTextureManager implements AutoCloseable {
    private float flickerIntensity;
    private final GameRenderer renderer;
    private final MinecraftClient client;
+   private final float[] brightness = new float[16];
+   private final float[] inputs = new float[9];
+   private final int[] colors = new int[256];
+   @Nullable
+   private DimensionType brightnessDimension;
 
    public LightmapTextureManager(GameRenderer renderer, MinecraftClient client) {
       this.renderer = renderer;
@@ -41,6 +47,8 @@ public class LightmapTextureManager implements AutoCloseable {
          }
       }
 
+      Arrays.fill(this.colors, -1);
+      Arrays.fill(this.inputs, Float.NaN);
       this.texture.upload();
    }
 
@@ -102,71 +110,121 @@ public class LightmapTextureManager implements AutoCloseable {
                l = 0.0F;
             }
 
-            Vector3f vector3f = (new Vector3f(f, f, 1.0F)).lerp(new Vector3f(1.0F, 1.0F, 1.0F), 0.35F);
             float m = this.flickerIntensity + 1.5F;
-            Vector3f vector3f2 = new Vector3f();
-
-            for(int n = 0; n < 16; ++n) {
-               for(int o = 0; o < 16; ++o) {
-                  float p = getBrightness(clientWorld.getDimension(), n) * g;
-                  float q = getBrightness(clientWorld.getDimension(), o) * m;
-                  float s = q * ((q * 0.6F + 0.4F) * 0.6F + 0.4F);
-                  float t = q * (q * q * 0.6F + 0.4F);
-                  vector3f2.set(q, s, t);
-                  boolean bl = clientWorld.getDimensionEffects().shouldBrightenLighting();
-                  if (bl) {
-                     vector3f2.lerp(new Vector3f(0.99F, 1.12F, 1.0F), 0.25F);
-                     clamp(vector3f2);
-                  } else {
-                     Vector3f vector3f3 = (new Vector3f(vector3f)).mul(p);
-                     vector3f2.add(vector3f3);
-                     vector3f2.lerp(new Vector3f(0.75F, 0.75F, 0.75F), 0.04F);
-                     if (this.renderer.getSkyDarkness(delta) > 0.0F) {
-                        float u = this.renderer.getSkyDarkness(delta);
-                        Vector3f vector3f4 = (new Vector3f(vector3f2)).mul(0.7F, 0.6F, 0.6F);
-                        vector3f2.lerp(vector3f4, u);
+            DimensionType dimensionType = clientWorld.getDimension();
+            boolean bl = clientWorld.getDimensionEffects().shouldBrightenLighting();
+            float n = this.renderer.getSkyDarkness(delta);
+            float o = ((Double)this.client.options.getGamma().getValue()).floatValue();
+            if (dimensionType != this.brightnessDimension) {
+               this.brightnessDimension = dimensionType;
+
+               for(int r = 0; r < 16; ++r) {
+                  this.brightness[r] = getBrightness(dimensionType, r);
+               }
+
+               Arrays.fill(this.inputs, Float.NaN);
+            }
+
+            if (this.updateInputs(f, g, i, j, l, m, n, o, bl ? 1.0F : 0.0F)) {
+               float[] fs = this.brightness;
+               int[] is = this.colors;
+               float p = Math.max(0.0F, o - i);
+               float q = (1.0F - f) * 0.35F + f;
+               boolean bl2 = false;
+
+               for(int r = 0; r < 16; ++r) {
+                  for(int s = 0; s < 16; ++s) {
+                     float t = fs[r] * g;
+                     float u = fs[s] * m;
+                     float x = u;
+                     float y = u * ((u * 0.6F + 0.4F) * 0.6F + 0.4F);
+                     float z = u * (u * u * 0.6F + 0.4F);
+                     if (bl) {
+                        x = MathHelper.clamp((0.99F - x) * 0.25F + x, 0.0F, 1.0F);
+                        y = MathHelper.clamp((1.12F - y) * 0.25F + y, 0.0F, 1.0F);
+                        z = MathHelper.clamp((1.0F - z) * 0.25F + z, 0.0F, 1.0F);
+                     } else {
+                        x += q * t;
+                        y += q * t;
+                        z += t;
+                        x = (0.75F - x) * 0.04F + x;
+                        y = (0.75F - y) * 0.04F + y;
+                        z = (0.75F - z) * 0.04F + z;
+                        if (n > 0.0F) {
+                           x = (x * 0.7F - x) * n + x;
+                           y = (y * 0.6F - y) * n + y;
+                           z = (z * 0.6F - z) * n + z;
+                        }
                      }
-                  }
 
-                  if (l > 0.0F) {
-                     float v = Math.max(vector3f2.x(), Math.max(vector3f2.y(), vector3f2.z()));
-                     if (v < 1.0F) {
-                        float u = 1.0F / v;
-                        Vector3f vector3f4 = (new Vector3f(vector3f2)).mul(u);
-                        vector3f2.lerp(vector3f4, l);
+                     if (l > 0.0F) {
+                        float v = Math.max(x, Math.max(y, z));
+                        if (v < 1.0F) {
+                           float w = 1.0F / v;
+                           x = (x * w - x) * l + x;
+                           y = (y * w - y) * l + y;
+                           z = (z * w - z) * l + z;
+                        }
                      }
-                  }
 
-                  if (!bl) {
-                     if (j > 0.0F) {
-                        vector3f2.add(-j, -j, -j);
+                     if (!bl) {
+                        if (j > 0.0F) {
+                           x += -j;
+                           y += -j;
+                           z += -j;
+                        }
+
+                        x = MathHelper.clamp(x, 0.0F, 1.0F);
+                        y = MathHelper.clamp(y, 0.0F, 1.0F);
+                        z = MathHelper.clamp(z, 0.0F, 1.0F);
                      }
 
-                     clamp(vector3f2);
+                     x = (this.easeOutQuart(x) - x) * p + x;
+                     y = (this.easeOutQuart(y) - y) * p + y;
+                     z = (this.easeOutQuart(z) - z) * p + z;
+                     x = MathHelper.clamp((0.75F - x) * 0.04F + x, 0.0F, 1.0F);
+                     y = MathHelper.clamp((0.75F - y) * 0.04F + y, 0.0F, 1.0F);
+                     z = MathHelper.clamp((0.75F - z) * 0.04F + z, 0.0F, 1.0F);
+                     int aa = -16777216 | (int)(z * 255.0F) << 16 | (int)(y * 255.0F) << 8 | (int)(x * 255.0F);
+                     int ab = r << 4 | s;
+                     if (is[ab] != aa) {
+                        is[ab] = aa;
+                        this.image.setColor(s, r, aa);
+                        bl2 = true;
+                     }
                   }
+               }
 
-                  float v = ((Double)this.client.options.getGamma().getValue()).floatValue();
-                  Vector3f vector3f5 = new Vector3f(this.easeOutQuart(vector3f2.x), this.easeOutQuart(vector3f2.y), this.easeOutQuart(vector3f2.z));
-                  vector3f2.lerp(vector3f5, Math.max(0.0F, v - i));
-                  vector3f2.lerp(new Vector3f(0.75F, 0.75F, 0.75F), 0.04F);
-                  clamp(vector3f2);
-                  vector3f2.mul(255.0F);
-                  int w = 255;
-                  int x = (int)vector3f2.x();
-                  int y = (int)vector3f2.y();
-                  int z = (int)vector3f2.z();
-                  this.image.setColor(o, n, -16777216 | z << 16 | y << 8 | x);
+               if (bl2) {
+                  this.texture.upload();
                }
             }
 
-            this.texture.upload();
             this.client.getProfiler().pop();
          }
       }
    }
 
-   private static void clamp(Vector3f vec) {
-      vec.set(MathHelper.clamp(vec.x, 0.0F, 1.0F), MathHelper.clamp(vec.y, 0.0F, 1.0F), MathHelper.clamp(vec.z, 0.0F, 1.0F));
+   private boolean updateInputs(float skyBrightness, float skyFactor, float darknessFactor, float darkness, float nightVision, float flicker, float skyDarkness, float gamma, float brightenLighting) {
+      boolean bl = this.updateInput(0, skyBrightness);
+      bl |= this.updateInput(1, skyFactor);
+      bl |= this.updateInput(2, darknessFactor);
+      bl |= this.updateInput(3, darkness);
+      bl |= this.updateInput(4, nightVision);
+      bl |= this.updateInput(5, flicker);
+      bl |= this.updateInput(6, skyDarkness);
+      bl |= this.updateInput(7, gamma);
+      bl |= this.updateInput(8, brightenLighting);
+      return bl;
+   }
+
+   private boolean updateInput(int index, float value) {
+      if (Float.floatToIntBits(this.inputs[index]) != Float.floatToIntBits(value)) {
+         this.inputs[index] = value;
+         return true;
+      } else {
+         return false;
+      }
    }
 
    private float easeOutQuart(float x) {
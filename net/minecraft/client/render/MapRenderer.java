@@ -1,8 +1,10 @@
 package net.minecraft.client.render;
 
+import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.List;
 import java.util.Objects;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -10,6 +12,7 @@ import net.minecraft.block.MapColor;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.texture.MapDecorationsAtlasManager;
+import net.minecraft.client.texture.NativeImage;
 import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.client.texture.Sprite;
 import net.minecraft.client.texture.TextureManager;
@@ -20,25 +23,31 @@ import net.minecraft.item.map.MapState;
 import net.minecraft.text.StringVisitable;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RotationAxis;
 import org.joml.Matrix4f;
+import org.lwjgl.system.MemoryUtil;
 
 @Environment(EnvType.CLIENT)
 public class MapRenderer implements AutoCloseable {
    private static final int DEFAULT_IMAGE_WIDTH = 128;
    private static final int DEFAULT_IMAGE_HEIGHT = 128;
+   static final int ATLAS_SLOTS = Math.max(1, Integer.getInteger("MapRenderer.atlasSlots", 8));
+   static final int[] COLORS = new int[256];
    final TextureManager textureManager;
    final MapDecorationsAtlasManager mapDecorationsAtlasManager;
    private final Int2ObjectMap mapTextures = new Int2ObjectOpenHashMap();
+   private final List atlases = Lists.newArrayList();
+   private int nextSlot;
 
    public MapRenderer(TextureManager textureManager, MapDecorationsAtlasManager mapDecorationsAtlasManager) {
       this.textureManager = textureManager;
       this.mapDecorationsAtlasManager = mapDecorationsAtlasManager;
    }
 
-   public void updateTexture(MapIdComponent id, MapState state) {
-      this.getMapTexture(id, state).setNeedsUpdate();
+   public void updateTexture(MapIdComponent id, MapState state, int x, int z, int width, int height) {
+      this.getMapTexture(id, state).markDirty(x, z, width, height);
    }
 
    public void draw(MatrixStack matrices, VertexConsumerProvider vertexConsumers, MapIdComponent id, MapState state, boolean hidePlayerIcons, int light) {
@@ -46,43 +55,115 @@ public class MapRenderer implements AutoCloseable {
    }
 
    private MapTexture getMapTexture(MapIdComponent id, MapState state) {
-      return (MapTexture)this.mapTextures.compute(id.id(), (id2, texture) -> {
-         if (texture == null) {
-            return new MapTexture(id2, state);
-         } else {
-            texture.setState(state);
-            return texture;
-         }
-      });
+      MapTexture mapTexture = (MapTexture)this.mapTextures.get(id.id());
+      if (mapTexture == null) {
+         mapTexture = new MapTexture(state, this.allocateSlot());
+         this.mapTextures.put(id.id(), mapTexture);
+      } else {
+         mapTexture.setState(state);
+      }
+
+      return mapTexture;
    }
 
    public void clearStateTextures() {
-      ObjectIterator var1 = this.mapTextures.values().iterator();
+      this.mapTextures.clear();
 
-      while(var1.hasNext()) {
-         MapTexture mapTexture = (MapTexture)var1.next();
-         mapTexture.close();
+      for(MapAtlas mapAtlas : (List<MapAtlas>)this.atlases) {
+         mapAtlas.close();
       }
 
-      this.mapTextures.clear();
+      this.atlases.clear();
+      this.nextSlot = 0;
+   }
+
+   private int allocateSlot() {
+      if (this.nextSlot == this.atlases.size() * ATLAS_SLOTS * ATLAS_SLOTS) {
+         int i = this.reclaimSlot();
+         if (i >= 0) {
+            return i;
+         }
+
+         this.atlases.add(new MapAtlas());
+      }
+
+      return this.nextSlot++;
+   }
+
+   private int reclaimSlot() {
+      long l = Util.getMeasuringTimeMs() - 60000L;
+      ObjectIterator<MapTexture> objectIterator = this.mapTextures.values().iterator();
+
+      while(objectIterator.hasNext()) {
+         MapTexture mapTexture = (MapTexture)objectIterator.next();
+         if (mapTexture.lastDrawTime < l) {
+            objectIterator.remove();
+            return mapTexture.slot;
+         }
+      }
+
+      return -1;
    }
 
    public void close() {
       this.clearStateTextures();
    }
 
+   static {
+      for(int i = 0; i < 256; ++i) {
+         COLORS[i] = MapColor.getRenderColor(i);
+      }
+
+   }
+
    @Environment(EnvType.CLIENT)
-   class MapTexture implements AutoCloseable {
+   class MapAtlas implements AutoCloseable {
+      final NativeImageBackedTexture texture;
+      final Identifier id;
+      final RenderLayer renderLayer;
+
+      MapAtlas() {
+         this.texture = new NativeImageBackedTexture(ATLAS_SLOTS * 128, ATLAS_SLOTS * 128, true);
+         this.id = MapRenderer.this.textureManager.registerDynamicTexture("map_atlas", this.texture);
+         this.renderLayer = RenderLayer.getText(this.id);
+      }
+
+      public void close() {
+         MapRenderer.this.textureManager.destroyTexture(this.id);
+      }
+   }
+
+   @Environment(EnvType.CLIENT)
+   class MapTexture {
       private MapState state;
-      private final NativeImageBackedTexture texture;
-      private final RenderLayer renderLayer;
+      final int slot;
+      private final MapAtlas atlas;
+      private final int offsetX;
+      private final int offsetY;
+      private final float minU;
+      private final float minV;
+      private final float maxU;
+      private final float maxV;
       private boolean needsUpdate = true;
+      private int dirtyMinX = 128;
+      private int dirtyMinY = 128;
+      private int dirtyMaxX;
+      private int dirtyMaxY;
+      long lastDrawTime = Util.getMeasuringTimeMs();
 
-      MapTexture(final int id, final MapState state) {
+      MapTexture(final MapState state, final int slot) {
          this.state = state;
-         this.texture = new NativeImageBackedTexture(128, 128, true);
-         Identifier identifier = MapRenderer.this.textureManager.registerDynamicTexture("map/" + id, this.texture);
-         this.renderLayer = RenderLayer.getText(identifier);
+         this.slot = slot;
+         int i = slot % (ATLAS_SLOTS * ATLAS_SLOTS);
+         this.atlas = (MapAtlas)MapRenderer.this.atlases.get(slot / (ATLAS_SLOTS * ATLAS_SLOTS));
+         int j = i % ATLAS_SLOTS;
+         int k = i / ATLAS_SLOTS;
+         this.offsetX = j * 128;
+         this.offsetY = k * 128;
+         this.minU = (float)j / (float)ATLAS_SLOTS;
+         this.minV = (float)k / (float)ATLAS_SLOTS;
+         this.maxU = (float)(j + 1) / (float)ATLAS_SLOTS;
+         this.maxV = (float)(k + 1) / (float)ATLAS_SLOTS;
       }
 
       void setState(MapState state) {
@@ -91,36 +172,57 @@ public class MapRenderer implements AutoCloseable {
          this.needsUpdate |= bl;
       }
 
-      public void setNeedsUpdate() {
-         this.needsUpdate = true;
+      public void markDirty(int x, int z, int width, int height) {
+         this.dirtyMinX = Math.max(0, Math.min(this.dirtyMinX, x));
+         this.dirtyMinY = Math.max(0, Math.min(this.dirtyMinY, z));
+         this.dirtyMaxX = Math.min(128, Math.max(this.dirtyMaxX, x + width));
+         this.dirtyMaxY = Math.min(128, Math.max(this.dirtyMaxY, z + height));
       }
 
-      private void updateTexture() {
-         for(int i = 0; i < 128; ++i) {
-            for(int j = 0; j < 128; ++j) {
-               int k = j + i * 128;
-               this.texture.getImage().setColor(j, i, MapColor.getRenderColor(this.state.colors[k]));
+      private void updateTexture(int x, int y, int width, int height) {
+         NativeImage nativeImage = this.atlas.texture.getImage();
+         long l = nativeImage.getPointer();
+         long m = (long)nativeImage.getWidth();
+         byte[] bs = this.state.colors;
+
+         for(int i = y; i < y + height; ++i) {
+            long n = l + ((long)(this.offsetY + i) * m + (long)this.offsetX) * 4L;
+
+            for(int j = x; j < x + width; ++j) {
+               MemoryUtil.memPutInt(n + (long)j * 4L, COLORS[bs[j + i * 128] & 255]);
             }
          }
 
-         this.texture.upload();
+         this.atlas.texture.bindTexture();
+         nativeImage.upload(0, this.offsetX + x, this.offsetY + y, this.offsetX + x, this.offsetY + y, width, height, false, false);
       }
 
       void draw(MatrixStack matrices, VertexConsumerProvider vertexConsumers, boolean hidePlayerIcons, int light) {
+         this.lastDrawTime = Util.getMeasuringTimeMs();
          if (this.needsUpdate) {
-            this.updateTexture();
+            this.updateTexture(0, 0, 128, 128);
             this.needsUpdate = false;
+            this.dirtyMinX = 128;
+            this.dirtyMinY = 128;
+            this.dirtyMaxX = 0;
+            this.dirtyMaxY = 0;
+         } else if (this.dirtyMinX < this.dirtyMaxX && this.dirtyMinY < this.dirtyMaxY) {
+            this.updateTexture(this.dirtyMinX, this.dirtyMinY, this.dirtyMaxX - this.dirtyMinX, this.dirtyMaxY - this.dirtyMinY);
+            this.dirtyMinX = 128;
+            this.dirtyMinY = 128;
+            this.dirtyMaxX = 0;
+            this.dirtyMaxY = 0;
          }
 
          int i = 0;
          int j = 0;
          float f = 0.0F;
          Matrix4f matrix4f = matrices.peek().getPositionMatrix();
-         VertexConsumer vertexConsumer = vertexConsumers.getBuffer(this.renderLayer);
-         vertexConsumer.vertex(matrix4f, 0.0F, 128.0F, -0.01F).color(-1).texture(0.0F, 1.0F).light(light);
-         vertexConsumer.vertex(matrix4f, 128.0F, 128.0F, -0.01F).color(-1).texture(1.0F, 1.0F).light(light);
-         vertexConsumer.vertex(matrix4f, 128.0F, 0.0F, -0.01F).color(-1).texture(1.0F, 0.0F).light(light);
-         vertexConsumer.vertex(matrix4f, 0.0F, 0.0F, -0.01F).color(-1).texture(0.0F, 0.0F).light(light);
+         VertexConsumer vertexConsumer = vertexConsumers.getBuffer(this.atlas.renderLayer);
+         vertexConsumer.vertex(matrix4f, 0.0F, 128.0F, -0.01F).color(-1).texture(this.minU, this.maxV).light(light);
+         vertexConsumer.vertex(matrix4f, 128.0F, 128.0F, -0.01F).color(-1).texture(this.maxU, this.maxV).light(light);
+         vertexConsumer.vertex(matrix4f, 128.0F, 0.0F, -0.01F).color(-1).texture(this.maxU, this.minV).light(light);
+         vertexConsumer.vertex(matrix4f, 0.0F, 0.0F, -0.01F).color(-1).texture(this.minU, this.minV).light(light);
          int k = 0;
 
          for(MapDecoration mapDecoration : this.state.getDecorations()) {
@@ -163,9 +265,5 @@ public class MapRenderer implements AutoCloseable {
          }
 
       }
-
-      public void close() {
-         this.texture.close();
-      }
    }
 }
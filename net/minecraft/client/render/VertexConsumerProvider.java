@@ -2,7 +2,13 @@ package net.minecraft.client.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import it.unimi.dsi.fastutil.objects.Object2ObjectSortedMaps;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.SequencedMap;
 import net.fabricmc.api.EnvType;
@@ -24,11 +30,28 @@ public interface VertexConsumerProvider {
 
    @Environment(EnvType.CLIENT)
    public static class Immediate implements VertexConsumerProvider {
+      private static final boolean DEFERRED_BATCHING = Boolean.parseBoolean(System.getProperty("VertexConsumerProvider.deferredBatching", "true"));
+      private static final int MAX_POOLED_ALLOCATORS = 64;
+      private static final Comparator DEFERRED_ORDER = Comparator.comparing(DeferredBuffer::getLayerName).thenComparing(DeferredBuffer::getTextureKey);
       protected final BufferAllocator allocator;
       protected final SequencedMap layerBuffers;
       protected final Map pending = new HashMap();
       @Nullable
       protected RenderLayer currentLayer;
+      private final Map batched = new HashMap();
+      private final List segments = new ArrayList();
+      private final Deque allocatorPool = new ArrayDeque();
+      @Nullable
+      private BufferAllocator segmentAllocator;
+      @Nullable
+      private DeferredBuffer openSegment;
+      private boolean deferred;
+      @Nullable
+      private RenderLayer lastDeferredLayer;
+      private int drawCalls;
+      private int mergedDraws;
+      private int lastDrawCalls;
+      private int lastMergedDraws;
 
       protected Immediate(BufferAllocator allocator, SequencedMap sequencedMap) {
          this.allocator = allocator;
@@ -36,6 +59,14 @@ public interface VertexConsumerProvider {
       }
 
       public VertexConsumer getBuffer(RenderLayer renderLayer) {
+         if (this.deferred && !this.layerBuffers.containsKey(renderLayer)) {
+            return this.getDeferredBuffer(renderLayer);
+         } else {
+            return this.getImmediateBuffer(renderLayer);
+         }
+      }
+
+      private VertexConsumer getImmediateBuffer(RenderLayer renderLayer) {
          BufferBuilder bufferBuilder = (BufferBuilder)this.pending.get(renderLayer);
          if (bufferBuilder != null && !renderLayer.areVerticesNotShared()) {
             this.draw(renderLayer, bufferBuilder);
@@ -62,7 +93,129 @@ public interface VertexConsumerProvider {
          }
       }
 
+      private VertexConsumer getDeferredBuffer(RenderLayer renderLayer) {
+         DeferredBuffer deferredBuffer;
+         if (!renderLayer.isTranslucent() && renderLayer.areVerticesNotShared()) {
+            deferredBuffer = (DeferredBuffer)this.batched.get(renderLayer);
+            if (deferredBuffer == null) {
+               deferredBuffer = this.createDeferredBuffer(renderLayer);
+               this.batched.put(renderLayer, deferredBuffer);
+            } else if (renderLayer != this.lastDeferredLayer) {
+               ++this.mergedDraws;
+            }
+         } else {
+            deferredBuffer = this.openSegment;
+            if (deferredBuffer != null && deferredBuffer.layer == renderLayer && renderLayer.areVerticesNotShared()) {
+               if (renderLayer != this.lastDeferredLayer) {
+                  ++this.mergedDraws;
+               }
+            } else {
+               this.closeSegment();
+               if (this.segmentAllocator == null) {
+                  this.segmentAllocator = new BufferAllocator(786432);
+               }
+
+               deferredBuffer = new DeferredBuffer(renderLayer, new BufferBuilder(this.segmentAllocator, renderLayer.getDrawMode(), renderLayer.getVertexFormat()), this.segmentAllocator);
+               this.openSegment = deferredBuffer;
+            }
+         }
+
+         this.lastDeferredLayer = renderLayer;
+         return deferredBuffer.builder;
+      }
+
+      private DeferredBuffer createDeferredBuffer(RenderLayer renderLayer) {
+         BufferAllocator bufferAllocator = (BufferAllocator)this.allocatorPool.poll();
+         if (bufferAllocator == null) {
+            bufferAllocator = new BufferAllocator(renderLayer.getExpectedBufferSize());
+         }
+
+         return new DeferredBuffer(renderLayer, new BufferBuilder(bufferAllocator, renderLayer.getDrawMode(), renderLayer.getVertexFormat()), bufferAllocator);
+      }
+
+      private void closeSegment() {
+         if (this.openSegment != null) {
+            BuiltBuffer builtBuffer = this.openSegment.builder.endNullable();
+            if (builtBuffer != null) {
+               this.segments.add(new DeferredSegment(this.openSegment.layer, builtBuffer));
+            }
+
+            this.openSegment = null;
+         }
+
+      }
+
+      public void beginDeferred() {
+         this.drawCurrentLayer();
+         this.drawCalls = 0;
+         this.mergedDraws = 0;
+         this.deferred = DEFERRED_BATCHING;
+      }
+
+      public void drawDeferred() {
+         this.drawCurrentLayer();
+         this.deferred = false;
+         this.lastDrawCalls = this.drawCalls;
+         this.lastMergedDraws = this.mergedDraws;
+      }
+
+      private void drawDeferredBuffers() {
+         if (!this.batched.isEmpty()) {
+            List<DeferredBuffer> list = new ArrayList(this.batched.values());
+            this.batched.clear();
+            list.sort(DEFERRED_ORDER);
+
+            for(DeferredBuffer deferredBuffer : list) {
+               this.draw(deferredBuffer);
+            }
+         }
+
+         this.closeSegment();
+         if (!this.segments.isEmpty()) {
+            for(DeferredSegment deferredSegment : this.segments) {
+               BuiltBuffer builtBuffer = deferredSegment.buffer();
+               if (deferredSegment.layer().isTranslucent()) {
+                  builtBuffer.sortQuads(this.segmentAllocator, RenderSystem.getVertexSorting());
+               }
+
+               deferredSegment.layer().draw(builtBuffer);
+               ++this.drawCalls;
+            }
+
+            this.segments.clear();
+         }
+
+         this.lastDeferredLayer = null;
+      }
+
+      private void draw(DeferredBuffer deferredBuffer) {
+         BuiltBuffer builtBuffer = deferredBuffer.builder.endNullable();
+         if (builtBuffer != null) {
+            if (deferredBuffer.layer.isTranslucent()) {
+               builtBuffer.sortQuads(deferredBuffer.allocator, RenderSystem.getVertexSorting());
+            }
+
+            deferredBuffer.layer.draw(builtBuffer);
+            ++this.drawCalls;
+         }
+
+         if (this.allocatorPool.size() < 64) {
+            this.allocatorPool.push(deferredBuffer.allocator);
+         } else {
+            deferredBuffer.allocator.close();
+         }
+
+      }
+
+      public String getDebugString() {
+         return String.format(Locale.ROOT, "Entity draws: %d (%d merged)", this.lastDrawCalls, this.lastMergedDraws);
+      }
+
       public void drawCurrentLayer() {
+         if (this.deferred) {
+            this.drawDeferredBuffers();
+         }
+
          if (this.currentLayer != null) {
             this.draw(this.currentLayer);
             this.currentLayer = null;
@@ -85,6 +238,11 @@ public interface VertexConsumerProvider {
             this.draw(layer, bufferBuilder);
          }
 
+         DeferredBuffer deferredBuffer = (DeferredBuffer)this.batched.remove(layer);
+         if (deferredBuffer != null) {
+            this.draw(deferredBuffer);
+         }
+
       }
 
       private void draw(RenderLayer layer, BufferBuilder builder) {
@@ -96,6 +254,7 @@ public interface VertexConsumerProvider {
             }
 
             layer.draw(builtBuffer);
+            ++this.drawCalls;
          }
 
          if (layer.equals(this.currentLayer)) {
@@ -103,5 +262,25 @@ public interface VertexConsumerProvider {
          }
 
       }
+
+      @Environment(EnvType.CLIENT)
+      static record DeferredSegment(RenderLayer layer, BuiltBuffer buffer) {
+      }
+
+      @Environment(EnvType.CLIENT)
+      static record DeferredBuffer(RenderLayer layer, BufferBuilder builder, BufferAllocator allocator) {
+         String getLayerName() {
+            return this.layer.name;
+         }
+
+         String getTextureKey() {
+            RenderLayer var2 = this.layer;
+            if (var2 instanceof RenderLayer.MultiPhase multiPhase) {
+               return (String)multiPhase.getPhases().texture.getId().map(Object::toString).orElse("");
+            } else {
+               return "";
+            }
+         }
+      }
    }
 }
@@ -20,6 +20,8 @@ public record VertexFormatElement(int id, int uvIndex, ComponentType type, Usage
    public static final VertexFormatElement UV_1;
    public static final VertexFormatElement UV_2;
    public static final VertexFormatElement NORMAL;
+   public static final VertexFormatElement PACKED_POSITION;
+   public static final VertexFormatElement PACKED_UV_0;
 
    public VertexFormatElement {
       if (uvIndex >= 0 && uvIndex < ELEMENTS.length) {
@@ -80,6 +82,8 @@ public record VertexFormatElement(int id, int uvIndex, ComponentType type, Usage
       UV_1 = register(3, 1, VertexFormatElement.ComponentType.SHORT, VertexFormatElement.Usage.UV, 2);
       UV_2 = register(4, 2, VertexFormatElement.ComponentType.SHORT, VertexFormatElement.Usage.UV, 2);
       NORMAL = register(5, 0, VertexFormatElement.ComponentType.BYTE, VertexFormatElement.Usage.NORMAL, 3);
+      PACKED_POSITION = register(6, 0, VertexFormatElement.ComponentType.USHORT, VertexFormatElement.Usage.POSITION, 3);
+      PACKED_UV_0 = register(7, 0, VertexFormatElement.ComponentType.USHORT, VertexFormatElement.Usage.UV, 2);
    }
 
    @Environment(EnvType.CLIENT)
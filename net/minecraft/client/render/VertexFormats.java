@@ -7,6 +7,7 @@ import net.fabricmc.api.Environment;
 public class VertexFormats {
    public static final VertexFormat BLIT_SCREEN;
    public static final VertexFormat POSITION_COLOR_TEXTURE_LIGHT_NORMAL;
+   public static final VertexFormat PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL;
    public static final VertexFormat POSITION_COLOR_TEXTURE_OVERLAY_LIGHT_NORMAL;
    public static final VertexFormat POSITION_TEXTURE_COLOR_LIGHT;
    public static final VertexFormat POSITION;
@@ -22,6 +23,7 @@ public class VertexFormats {
    static {
       BLIT_SCREEN = VertexFormat.builder().add("Position", VertexFormatElement.POSITION).build();
       POSITION_COLOR_TEXTURE_LIGHT_NORMAL = VertexFormat.builder().add("Position", VertexFormatElement.POSITION).add("Color", VertexFormatElement.COLOR).add("UV0", VertexFormatElement.UV_0).add("UV2", VertexFormatElement.UV_2).add("Normal", VertexFormatElement.NORMAL).skip(1).build();
+      PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL = VertexFormat.builder().add("Position", VertexFormatElement.PACKED_POSITION).skip(2).add("Color", VertexFormatElement.COLOR).add("UV0", VertexFormatElement.PACKED_UV_0).add("UV2", VertexFormatElement.UV_2).add("Normal", VertexFormatElement.NORMAL).skip(1).build();
       POSITION_COLOR_TEXTURE_OVERLAY_LIGHT_NORMAL = VertexFormat.builder().add("Position", VertexFormatElement.POSITION).add("Color", VertexFormatElement.COLOR).add("UV0", VertexFormatElement.UV_0).add("UV1", VertexFormatElement.UV_1).add("UV2", VertexFormatElement.UV_2).add("Normal", VertexFormatElement.NORMAL).skip(1).build();
       POSITION_TEXTURE_COLOR_LIGHT = VertexFormat.builder().add("Position", VertexFormatElement.POSITION).add("UV0", VertexFormatElement.UV_0).add("Color", VertexFormatElement.COLOR).add("UV2", VertexFormatElement.UV_2).build();
       POSITION = VertexFormat.builder().add("Position", VertexFormatElement.POSITION).build();
@@ -54,6 +54,8 @@ import net.minecraft.client.particle.Particle;
 import net.minecraft.client.render.block.entity.BlockEntityRenderDispatcher;
 import net.minecraft.client.render.chunk.ChunkBuilder;
 import net.minecraft.client.render.chunk.ChunkRendererRegionBuilder;
+import net.minecraft.client.render.chunk.SectionBuilder;
+import net.minecraft.client.render.chunk.SectionSnapshotStore;
 import net.minecraft.client.render.entity.EntityRenderDispatcher;
 import net.minecraft.client.render.model.ModelLoader;
 import net.minecraft.client.sound.PositionedSoundInstance;
@@ -121,6 +123,7 @@ import net.minecraft.world.Heightmap.Type;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.Biome.Precipitation;
 import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.WorldChunk;
 import net.minecraft.world.chunk.light.LightingProvider;
 import net.minecraft.world.tick.TickManager;
 import org.jetbrains.annotations.Nullable;
@@ -154,6 +157,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
    private final EntityRenderDispatcher entityRenderDispatcher;
    private final BlockEntityRenderDispatcher blockEntityRenderDispatcher;
    private final BufferBuilderStorage bufferBuilders;
+   private final SectionSnapshotStore sectionSnapshots = new SectionSnapshotStore();
    @Nullable
    private ClientWorld world;
    private final ChunkRenderingDataPreparer chunkRenderingDataPreparer = new ChunkRenderingDataPreparer();
@@ -608,6 +612,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
       this.cameraChunkZ = Integer.MIN_VALUE;
       this.entityRenderDispatcher.setWorld(world);
       this.world = world;
+      this.sectionSnapshots.clear();
       if (world != null) {
          this.reload();
       } else {
@@ -688,6 +693,16 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
       return String.format(Locale.ROOT, "C: %d/%d %sD: %d, %s", j, i, this.client.chunkCullingEnabled ? "(s) " : "", this.viewDistance, this.chunkBuilder == null ? "null" : this.chunkBuilder.getDebugString());
    }
 
+   @Nullable
+   public String getChunkBuilderTimingsDebugString() {
+      if (this.chunkBuilder == null) {
+         return null;
+      } else {
+         String var10000 = this.chunkBuilder.getTaskTimingsDebugString();
+         return var10000 + ", " + this.sectionSnapshots.getDebugString();
+      }
+   }
+
    public ChunkBuilder getChunkBuilder() {
       return this.chunkBuilder;
    }
@@ -716,7 +731,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
 
    public String getEntitiesDebugString() {
       int var10000 = this.regularEntityCount;
-      return "E: " + var10000 + "/" + this.world.getRegularEntityCount() + ", B: " + this.blockEntityCount + ", SD: " + this.world.getSimulationDistance();
+      return "E: " + var10000 + "/" + this.world.getRegularEntityCount() + ", B: " + this.blockEntityCount + ", SD: " + this.world.getSimulationDistance() + ", " + this.bufferBuilders.getEntityVertexConsumers().getDebugString();
    }
 
    private void setupTerrain(Camera camera, Frustum frustum, boolean hasForcedFrustum, boolean spectator) {
@@ -905,6 +920,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
       boolean bl3 = false;
       MatrixStack matrixStack = new MatrixStack();
       VertexConsumerProvider.Immediate immediate = this.bufferBuilders.getEntityVertexConsumers();
+      immediate.beginDeferred();
 
       for(Entity entity : this.world.getEntities()) {
          if (this.entityRenderDispatcher.shouldRender(entity, frustum, d, e, g) || entity.hasPassengerDeep(this.client.player)) {
@@ -934,7 +950,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
          }
       }
 
-      immediate.drawCurrentLayer();
+      immediate.drawDeferred();
       this.checkEmpty(matrixStack);
       immediate.draw(RenderLayer.getEntitySolid(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE));
       immediate.draw(RenderLayer.getEntityCutout(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE));
@@ -1058,7 +1074,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
          this.particlesFramebuffer.copyDepthFrom(this.client.getFramebuffer());
          RenderPhase.PARTICLES_TARGET.startDrawing();
          profiler.swap("particles");
-         this.client.particleManager.renderParticles(lightmapTextureManager, camera, f);
+         this.client.particleManager.renderParticles(lightmapTextureManager, camera, f, frustum);
          RenderPhase.PARTICLES_TARGET.endDrawing();
       } else {
          profiler.swap("translucent");
@@ -1072,7 +1088,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
          profiler.swap("string");
          this.renderLayer(RenderLayer.getTripwire(), d, e, g, matrix4f, matrix4f2);
          profiler.swap("particles");
-         this.client.particleManager.renderParticles(lightmapTextureManager, camera, f);
+         this.client.particleManager.renderParticles(lightmapTextureManager, camera, f, frustum);
       }
 
       if (this.client.options.getCloudRenderModeValue() != CloudRenderMode.OFF) {
@@ -1126,6 +1142,9 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
    private void renderLayer(RenderLayer renderLayer, double x, double y, double z, Matrix4f matrix4f, Matrix4f positionMatrix) {
       RenderSystem.assertOnRenderThread();
       renderLayer.startDrawing();
+      if (SectionBuilder.COMPACT_VERTICES) {
+         RenderSystem.setShader(getPackedTerrainProgram(renderLayer));
+      }
       if (renderLayer == RenderLayer.getTranslucent()) {
          this.client.getProfiler().push("translucent_sort");
          double d = x - this.lastTranslucentSortX;
@@ -1195,6 +1214,18 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
       renderLayer.endDrawing();
    }
 
+   private static Supplier getPackedTerrainProgram(RenderLayer renderLayer) {
+      if (renderLayer == RenderLayer.getCutoutMipped()) {
+         return GameRenderer::getRenderTypeCutoutMippedPackedProgram;
+      } else if (renderLayer == RenderLayer.getCutout()) {
+         return GameRenderer::getRenderTypeCutoutPackedProgram;
+      } else if (renderLayer == RenderLayer.getTranslucent()) {
+         return GameRenderer::getRenderTypeTranslucentPackedProgram;
+      } else {
+         return renderLayer == RenderLayer.getTripwire() ? GameRenderer::getRenderTypeTripwirePackedProgram : GameRenderer::getRenderTypeSolidPackedProgram;
+      }
+   }
+
    private void renderChunkDebugInfo(MatrixStack matrices, VertexConsumerProvider vertexConsumers, Camera camera) {
       if (this.client.debugChunkInfo || this.client.debugChunkOcclusion) {
          double d = camera.getPos().getX();
@@ -1696,7 +1727,7 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
    private void updateChunks(Camera camera) {
       this.client.getProfiler().push("populate_sections_to_compile");
       LightingProvider lightingProvider = this.world.getLightingProvider();
-      ChunkRendererRegionBuilder chunkRendererRegionBuilder = new ChunkRendererRegionBuilder();
+      ChunkRendererRegionBuilder chunkRendererRegionBuilder = new ChunkRendererRegionBuilder(this.sectionSnapshots);
       BlockPos blockPos = camera.getBlockPos();
       List<ChunkBuilder.BuiltChunk> list = Lists.newArrayList();
       ObjectListIterator var6 = this.builtChunks.iterator();
@@ -2637,9 +2668,18 @@ public class WorldRenderer implements SynchronousResourceReloader, AutoCloseable
    }
 
    public void method_52815(ChunkPos chunkPos) {
+      this.sectionSnapshots.onChunkChanged(this.world, chunkPos);
       this.chunkRenderingDataPreparer.method_52819(chunkPos);
    }
 
+   public void onChunkUnloaded(WorldChunk chunk) {
+      this.sectionSnapshots.onChunkChanged(chunk, chunk.getPos());
+   }
+
+   public void onBlockChanged(BlockPos pos) {
+      this.sectionSnapshots.onBlockChanged(pos);
+   }
+
    public void scheduleTerrainUpdate() {
       this.chunkRenderingDataPreparer.method_52817();
       this.cloudsDirty = true;
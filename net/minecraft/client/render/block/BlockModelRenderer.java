@@ -2,6 +2,7 @@ package net.minecraft.client.render.block;
 
 import it.unimi.dsi.fastutil.longs.Long2FloatLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import net.fabricmc.api.EnvType;
@@ -34,6 +35,7 @@ public class BlockModelRenderer {
    static final Direction[] DIRECTIONS = Direction.values();
    private final BlockColors colors;
    private static final int BRIGHTNESS_CACHE_MAX_SIZE = 100;
+   private static final int SECTION_CACHE_SIZE = 18;
    static final ThreadLocal BRIGHTNESS_CACHE = ThreadLocal.withInitial(BrightnessCache::new);
 
    public BlockModelRenderer(BlockColors colors) {
@@ -254,6 +256,10 @@ public class BlockModelRenderer {
       ((BrightnessCache)BRIGHTNESS_CACHE.get()).enable();
    }
 
+   public static void enableBrightnessCache(BlockPos sectionOrigin) {
+      ((BrightnessCache)BRIGHTNESS_CACHE.get()).enable(sectionOrigin);
+   }
+
    public static void disableBrightnessCache() {
       ((BrightnessCache)BRIGHTNESS_CACHE.get()).disable();
    }
@@ -451,6 +457,12 @@ public class BlockModelRenderer {
          long2FloatLinkedOpenHashMap.defaultReturnValue(Float.NaN);
          return long2FloatLinkedOpenHashMap;
       });
+      private boolean sectionEnabled;
+      private int originX;
+      private int originY;
+      private int originZ;
+      private final int[] sectionInts = new int[5832];
+      private final float[] sectionFloats = new float[5832];
 
       private BrightnessCache() {
       }
@@ -459,52 +471,96 @@ public class BlockModelRenderer {
          this.enabled = true;
       }
 
+      public void enable(BlockPos sectionOrigin) {
+         this.enabled = true;
+         this.sectionEnabled = true;
+         this.originX = sectionOrigin.getX() - 1;
+         this.originY = sectionOrigin.getY() - 1;
+         this.originZ = sectionOrigin.getZ() - 1;
+         Arrays.fill(this.sectionInts, Integer.MAX_VALUE);
+         Arrays.fill(this.sectionFloats, Float.NaN);
+      }
+
       public void disable() {
          this.enabled = false;
+         this.sectionEnabled = false;
          this.intCache.clear();
          this.floatCache.clear();
       }
 
+      private int getSectionIndex(BlockPos pos) {
+         if (!this.sectionEnabled) {
+            return -1;
+         } else {
+            int i = pos.getX() - this.originX;
+            int j = pos.getY() - this.originY;
+            int k = pos.getZ() - this.originZ;
+            return i >= 0 && i < 18 && j >= 0 && j < 18 && k >= 0 && k < 18 ? (j * 18 + k) * 18 + i : -1;
+         }
+      }
+
       public int getInt(BlockState state, BlockRenderView world, BlockPos pos) {
-         long l = pos.asLong();
-         if (this.enabled) {
-            int i = this.intCache.get(l);
-            if (i != Integer.MAX_VALUE) {
-               return i;
+         int i = this.getSectionIndex(pos);
+         if (i >= 0) {
+            int j = this.sectionInts[i];
+            if (j == Integer.MAX_VALUE) {
+               j = WorldRenderer.getLightmapCoordinates(world, state, pos);
+               this.sectionInts[i] = j;
             }
-         }
 
-         int i = WorldRenderer.getLightmapCoordinates(world, state, pos);
-         if (this.enabled) {
-            if (this.intCache.size() == 100) {
-               this.intCache.removeFirstInt();
+            return j;
+         } else {
+            long l = pos.asLong();
+            if (this.enabled) {
+               int j = this.intCache.get(l);
+               if (j != Integer.MAX_VALUE) {
+                  return j;
+               }
             }
 
-            this.intCache.put(l, i);
-         }
+            int j = WorldRenderer.getLightmapCoordinates(world, state, pos);
+            if (this.enabled) {
+               if (this.intCache.size() == 100) {
+                  this.intCache.removeFirstInt();
+               }
+
+               this.intCache.put(l, j);
+            }
 
-         return i;
+            return j;
+         }
       }
 
       public float getFloat(BlockState state, BlockRenderView blockView, BlockPos pos) {
-         long l = pos.asLong();
-         if (this.enabled) {
-            float f = this.floatCache.get(l);
-            if (!Float.isNaN(f)) {
-               return f;
+         int i = this.getSectionIndex(pos);
+         if (i >= 0) {
+            float f = this.sectionFloats[i];
+            if (Float.isNaN(f)) {
+               f = state.getAmbientOcclusionLightLevel(blockView, pos);
+               this.sectionFloats[i] = f;
             }
-         }
 
-         float f = state.getAmbientOcclusionLightLevel(blockView, pos);
-         if (this.enabled) {
-            if (this.floatCache.size() == 100) {
-               this.floatCache.removeFirstFloat();
+            return f;
+         } else {
+            long l = pos.asLong();
+            if (this.enabled) {
+               float f = this.floatCache.get(l);
+               if (!Float.isNaN(f)) {
+                  return f;
+               }
             }
 
-            this.floatCache.put(l, f);
-         }
+            float f = state.getAmbientOcclusionLightLevel(blockView, pos);
+            if (this.enabled) {
+               if (this.floatCache.size() == 100) {
+                  this.floatCache.removeFirstFloat();
+               }
 
-         return f;
+               this.floatCache.put(l, f);
+            }
+
+            return f;
+         }
       }
    }
 
@@ -43,7 +43,7 @@ public class BlockBufferBuilderPool {
    }
 
    @Nullable
-   public BlockBufferAllocatorStorage acquire() {
+   public synchronized BlockBufferAllocatorStorage acquire() {
       BlockBufferAllocatorStorage blockBufferAllocatorStorage = (BlockBufferAllocatorStorage)this.availableBuilders.poll();
       if (blockBufferAllocatorStorage != null) {
          this.availableBuilderCount = this.availableBuilders.size();
@@ -53,12 +53,12 @@ public class BlockBufferBuilderPool {
       }
    }
 
-   public void release(BlockBufferAllocatorStorage builders) {
+   public synchronized void release(BlockBufferAllocatorStorage builders) {
       this.availableBuilders.add(builders);
       this.availableBuilderCount = this.availableBuilders.size();
    }
 
-   public boolean hasNoAvailableBuilder() {
+   public synchronized boolean hasNoAvailableBuilder() {
       return this.availableBuilders.isEmpty();
    }
 
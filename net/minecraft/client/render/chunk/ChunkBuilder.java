@@ -50,6 +50,7 @@ import org.jetbrains.annotations.Nullable;
 @Environment(EnvType.CLIENT)
 public class ChunkBuilder {
    private static final int field_35300 = 2;
+   private static final boolean WORK_STEALING = Boolean.parseBoolean(System.getProperty("ChunkBuilder.workStealing", "false"));
    private final PriorityBlockingQueue prioritizedTaskQueue = Queues.newPriorityBlockingQueue();
    private final Queue taskQueue = Queues.newLinkedBlockingDeque();
    private int processablePrioritizedTaskCount = 2;
@@ -60,9 +61,15 @@ public class ChunkBuilder {
    private volatile boolean stopped;
    private final TaskExecutor mailbox;
    private final Executor executor;
+   @Nullable
+   private final WorkStealingTaskQueue workStealingQueue;
+   private final TaskTimeHistogram rebuildWaitTimes = new TaskTimeHistogram();
+   private final TaskTimeHistogram rebuildBuildTimes = new TaskTimeHistogram();
+   private final TaskTimeHistogram sortWaitTimes = new TaskTimeHistogram();
+   private final TaskTimeHistogram sortBuildTimes = new TaskTimeHistogram();
    ClientWorld world;
    final WorldRenderer worldRenderer;
-   private Vec3d cameraPosition;
+   private volatile Vec3d cameraPosition;
    final SectionBuilder field_52171;
 
    public ChunkBuilder(ClientWorld world, WorldRenderer worldRenderer, Executor executor, BufferBuilderStorage bufferBuilderStorage, BlockRenderManager blockRenderManager, BlockEntityRenderDispatcher blockEntityRenderDispatcher) {
@@ -72,6 +79,7 @@ public class ChunkBuilder {
       this.buffers = bufferBuilderStorage.getBlockBufferBuilders();
       this.buffersPool = bufferBuilderStorage.getBlockBufferBuildersPool();
       this.executor = executor;
+      this.workStealingQueue = WORK_STEALING ? new WorkStealingTaskQueue(this.buffersPool.getAvailableBuilderCount()) : null;
       this.mailbox = TaskExecutor.create(executor, "Section Renderer");
       this.mailbox.send(this::scheduleRunTasks);
       this.field_52171 = new SectionBuilder(blockRenderManager, blockEntityRenderDispatcher);
@@ -82,12 +90,14 @@ public class ChunkBuilder {
    }
 
    private void scheduleRunTasks() {
-      if (!this.stopped && !this.buffersPool.hasNoAvailableBuilder()) {
+      if (this.workStealingQueue != null) {
+         this.startIdleWorkers();
+      } else if (!this.stopped && !this.buffersPool.hasNoAvailableBuilder()) {
          BuiltChunk.Task task = this.pollTask();
          if (task != null) {
             BlockBufferAllocatorStorage blockBufferAllocatorStorage = (BlockBufferAllocatorStorage)Objects.requireNonNull(this.buffersPool.acquire());
             this.queuedTaskCount = this.prioritizedTaskQueue.size() + this.taskQueue.size();
-            CompletableFuture.supplyAsync(Util.debugSupplier(task.getName(), () -> task.run(blockBufferAllocatorStorage)), this.executor).thenCompose((future) -> future).whenComplete((result, throwable) -> {
+            this.runTimedTask(task, blockBufferAllocatorStorage).whenComplete((result, throwable) -> {
                if (throwable != null) {
                   MinecraftClient.getInstance().setCrashReportSupplierAndAddDetails(CrashReport.create(throwable, "Batching sections"));
                } else {
@@ -107,6 +117,58 @@ public class ChunkBuilder {
       }
    }
 
+   private void startIdleWorkers() {
+      WorkStealingTaskQueue workStealingTaskQueue = this.workStealingQueue;
+
+      for(int i = 0; i < workStealingTaskQueue.getWorkerCount() && !this.stopped && !workStealingTaskQueue.isEmpty(); ++i) {
+         if (workStealingTaskQueue.tryStartWorker(i)) {
+            BlockBufferAllocatorStorage blockBufferAllocatorStorage = this.buffersPool.acquire();
+            if (blockBufferAllocatorStorage == null) {
+               workStealingTaskQueue.stopWorker(i);
+               break;
+            }
+
+            this.runWorker(i, blockBufferAllocatorStorage);
+         }
+      }
+
+   }
+
+   private void runWorker(int workerIndex, BlockBufferAllocatorStorage buffers) {
+      WorkStealingTaskQueue workStealingTaskQueue = this.workStealingQueue;
+      BuiltChunk.Task task = this.stopped ? null : workStealingTaskQueue.poll(workerIndex);
+      this.queuedTaskCount = workStealingTaskQueue.size();
+      if (task == null) {
+         this.buffersPool.release(buffers);
+         workStealingTaskQueue.stopWorker(workerIndex);
+         if (!this.stopped && !workStealingTaskQueue.isEmpty()) {
+            this.startIdleWorkers();
+         }
+
+      } else {
+         this.runTimedTask(task, buffers).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+               MinecraftClient.getInstance().setCrashReportSupplierAndAddDetails(CrashReport.create(throwable, "Batching sections"));
+            } else {
+               if (result == ChunkBuilder.Result.SUCCESSFUL) {
+                  buffers.clear();
+               } else {
+                  buffers.reset();
+               }
+
+               this.executor.execute(() -> this.runWorker(workerIndex, buffers));
+            }
+         });
+      }
+   }
+
+   private CompletableFuture runTimedTask(BuiltChunk.Task task, BlockBufferAllocatorStorage buffers) {
+      boolean bl = task instanceof BuiltChunk.SortTask;
+      long l = Util.getMeasuringTimeNano();
+      (bl ? this.sortWaitTimes : this.rebuildWaitTimes).record(l - task.queuedTime);
+      return CompletableFuture.supplyAsync(Util.debugSupplier(task.getName(), () -> task.run(buffers)), this.executor).thenCompose((future) -> future).whenComplete((result, throwable) -> (bl ? this.sortBuildTimes : this.rebuildBuildTimes).record(Util.getMeasuringTimeNano() - l));
+   }
+
    @Nullable
    private BuiltChunk.Task pollTask() {
       if (this.processablePrioritizedTaskCount <= 0) {
@@ -131,6 +193,10 @@ public class ChunkBuilder {
       return String.format(Locale.ROOT, "pC: %03d, pU: %02d, aB: %02d", this.queuedTaskCount, this.uploadQueue.size(), this.buffersPool.getAvailableBuilderCount());
    }
 
+   public String getTaskTimingsDebugString() {
+      return String.format(Locale.ROOT, "Section tasks%s p50/p95 ms: rebuild wait %.1f/%.1f build %.1f/%.1f, sort wait %.1f/%.1f build %.1f/%.1f", this.workStealingQueue != null ? " (ws x" + this.workStealingQueue.getWorkerCount() + ")" : "", this.rebuildWaitTimes.getPercentileMillis(0.5), this.rebuildWaitTimes.getPercentileMillis(0.95), this.rebuildBuildTimes.getPercentileMillis(0.5), this.rebuildBuildTimes.getPercentileMillis(0.95), this.sortWaitTimes.getPercentileMillis(0.5), this.sortWaitTimes.getPercentileMillis(0.95), this.sortBuildTimes.getPercentileMillis(0.5), this.sortBuildTimes.getPercentileMillis(0.95));
+   }
+
    public int getToBatchCount() {
       return this.queuedTaskCount;
    }
@@ -165,10 +231,21 @@ public class ChunkBuilder {
 
    public void reset() {
       this.clear();
+      this.rebuildWaitTimes.reset();
+      this.rebuildBuildTimes.reset();
+      this.sortWaitTimes.reset();
+      this.sortBuildTimes.reset();
    }
 
    public void send(BuiltChunk.Task task) {
-      if (!this.stopped) {
+      task.queuedTime = Util.getMeasuringTimeNano();
+      if (this.workStealingQueue != null) {
+         if (!this.stopped) {
+            this.workStealingQueue.offer(task);
+            this.queuedTaskCount = this.workStealingQueue.size();
+            this.startIdleWorkers();
+         }
+      } else if (!this.stopped) {
          this.mailbox.send((Runnable)() -> {
             if (!this.stopped) {
                if (task.prioritized) {
@@ -223,6 +300,10 @@ public class ChunkBuilder {
    }
 
    private void clear() {
+      if (this.workStealingQueue != null) {
+         this.workStealingQueue.clear((task) -> ((BuiltChunk.Task)task).cancel());
+      }
+
       while(!this.prioritizedTaskQueue.isEmpty()) {
          BuiltChunk.Task task = (BuiltChunk.Task)this.prioritizedTaskQueue.poll();
          if (task != null) {
@@ -375,6 +456,8 @@ public class ChunkBuilder {
 
          if (!chunkData.nonEmptyLayers.contains(layer)) {
             return false;
+         } else if (chunkData.transparentSortingData != null && !chunkData.transparentSortingData.needsResort()) {
+            return false;
          } else {
             this.sortTask = new SortTask(this.getSquaredCameraDistance(), chunkData);
             chunkRenderer.send(this.sortTask);
@@ -545,8 +628,8 @@ public class ChunkBuilder {
             } else {
                BuiltBuffer.SortState sortState = this.data.transparentSortingData;
                if (sortState != null && !this.data.isEmpty(RenderLayer.getTranslucent())) {
-                  VertexSorter vertexSorter = BuiltChunk.this.method_60909();
-                  BufferAllocator.CloseableBuffer closeableBuffer = sortState.sortAndStore(buffers.get(RenderLayer.getTranslucent()), vertexSorter);
+                  Vec3d vec3d = ChunkBuilder.this.getCameraPosition();
+                  BufferAllocator.CloseableBuffer closeableBuffer = sortState.sortAndStore(buffers.get(RenderLayer.getTranslucent()), (float)(vec3d.x - (double)BuiltChunk.this.origin.getX()), (float)(vec3d.y - (double)BuiltChunk.this.origin.getY()), (float)(vec3d.z - (double)BuiltChunk.this.origin.getZ()));
                   if (closeableBuffer == null) {
                      return CompletableFuture.completedFuture(ChunkBuilder.Result.CANCELLED);
                   } else if (this.cancelled.get()) {
@@ -578,6 +661,7 @@ public class ChunkBuilder {
          protected final double distance;
          protected final AtomicBoolean cancelled = new AtomicBoolean(false);
          protected final boolean prioritized;
+         volatile long queuedTime;
 
          public Task(final double distance, final boolean prioritized) {
             this.distance = distance;
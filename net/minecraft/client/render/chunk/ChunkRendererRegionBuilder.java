@@ -2,17 +2,28 @@ package net.minecraft.client.render.chunk;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.block.BlockState;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.EmptyChunk;
+import net.minecraft.world.chunk.PalettedContainer;
 import net.minecraft.world.chunk.WorldChunk;
 import org.jetbrains.annotations.Nullable;
 
 @Environment(EnvType.CLIENT)
 public class ChunkRendererRegionBuilder {
    private final Long2ObjectMap chunks = new Long2ObjectOpenHashMap();
+   private final SectionSnapshotStore snapshots;
+
+   public ChunkRendererRegionBuilder(SectionSnapshotStore snapshots) {
+      this.snapshots = snapshots;
+   }
 
    @Nullable
    public ChunkRendererRegion build(World world, ChunkSectionPos sectionPos) {
@@ -30,7 +41,7 @@ public class ChunkRendererRegionBuilder {
             for(int n = i; n <= k; ++n) {
                int o = ChunkRendererRegion.getIndex(i, j, n, m);
                ClientChunk clientChunk2 = n == sectionPos.getSectionX() && m == sectionPos.getSectionZ() ? clientChunk : this.computeClientChunk(world, n, m);
-               renderedChunks[o] = clientChunk2.getRenderedChunk();
+               renderedChunks[o] = clientChunk2.getRenderedChunk(sectionPos.getSectionY());
             }
          }
 
@@ -39,16 +50,18 @@ public class ChunkRendererRegionBuilder {
    }
 
    private ClientChunk computeClientChunk(World world, int chunkX, int chunkZ) {
-      return (ClientChunk)this.chunks.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ), (chunkPos) -> new ClientChunk(world.getChunk(ChunkPos.getPackedX(chunkPos), ChunkPos.getPackedZ(chunkPos))));
+      return (ClientChunk)this.chunks.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ), (chunkPos) -> new ClientChunk(this.snapshots, world.getChunk(ChunkPos.getPackedX(chunkPos), ChunkPos.getPackedZ(chunkPos))));
    }
 
    @Environment(EnvType.CLIENT)
    static final class ClientChunk {
+      private final SectionSnapshotStore snapshots;
       private final WorldChunk chunk;
       @Nullable
-      private RenderedChunk renderedChunk;
+      private Map blockEntities;
 
-      ClientChunk(WorldChunk chunk) {
+      ClientChunk(SectionSnapshotStore snapshots, WorldChunk chunk) {
+         this.snapshots = snapshots;
          this.chunk = chunk;
       }
 
@@ -56,12 +69,24 @@ public class ChunkRendererRegionBuilder {
          return this.chunk;
       }
 
-      public RenderedChunk getRenderedChunk() {
-         if (this.renderedChunk == null) {
-            this.renderedChunk = new RenderedChunk(this.chunk);
+      public RenderedChunk getRenderedChunk(int sectionY) {
+         if (this.blockEntities == null) {
+            this.blockEntities = this.snapshots.getBlockEntities(this.chunk);
          }
 
-         return this.renderedChunk;
+         if (this.chunk instanceof EmptyChunk) {
+            return new RenderedChunk(this.chunk, this.blockEntities, (List)null);
+         } else {
+            int i = this.chunk.getSectionArray().length;
+            int j = this.chunk.sectionCoordToIndex(sectionY);
+            List<PalettedContainer<BlockState>> list = new ArrayList(i);
+
+            for(int k = 0; k < i; ++k) {
+               list.add(k >= j - 1 && k <= j + 1 ? this.snapshots.getBlockStates(this.chunk, k) : null);
+            }
+
+            return new RenderedChunk(this.chunk, this.blockEntities, list);
+         }
       }
    }
 }
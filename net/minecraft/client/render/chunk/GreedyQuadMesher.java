@@ -0,0 +1,320 @@
+package net.minecraft.client.render.chunk;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.ColorHelper.Argb;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+@Environment(EnvType.CLIENT)
+public class GreedyQuadMesher implements VertexConsumer {
+   private static final float EPSILON = 1.0E-4F;
+   private static final int MAX_SPRITE_SIZE_LOG2 = 7;
+   public static final int MERGED_LIGHT_FLAG = 16384;
+   private static final int TILE_BIAS = 32;
+   private static final Direction[] DIRECTIONS = Direction.values();
+   private final BakedQuad[] quads = new BakedQuad[24576];
+   private final int[] colors = new int[24576];
+   private final int[] lights = new int[24576];
+   private final int[] layouts = new int[24576];
+   private final int[] capturedCells = new int[24576];
+   private int capturedCount;
+   @Nullable
+   private VertexConsumer delegate;
+
+   public void setDelegate(VertexConsumer delegate) {
+      this.delegate = delegate;
+   }
+
+   public VertexConsumer vertex(float x, float y, float z) {
+      return this.delegate.vertex(x, y, z);
+   }
+
+   public VertexConsumer color(int red, int green, int blue, int alpha) {
+      return this.delegate.color(red, green, blue, alpha);
+   }
+
+   public VertexConsumer texture(float u, float v) {
+      return this.delegate.texture(u, v);
+   }
+
+   public VertexConsumer overlay(int u, int v) {
+      return this.delegate.overlay(u, v);
+   }
+
+   public VertexConsumer light(int u, int v) {
+      return this.delegate.light(u, v);
+   }
+
+   public VertexConsumer normal(float x, float y, float z) {
+      return this.delegate.normal(x, y, z);
+   }
+
+   public void vertex(float x, float y, float z, int color, float u, float v, int overlay, int light, float normalX, float normalY, float normalZ) {
+      this.delegate.vertex(x, y, z, color, u, v, overlay, light, normalX, normalY, normalZ);
+   }
+
+   public void quad(MatrixStack.Entry matrixEntry, BakedQuad quad, float[] brightnesses, float red, float green, float blue, float f, int[] is, int i, boolean bl) {
+      if (!this.capture(matrixEntry.getPositionMatrix(), quad, brightnesses, red, green, blue, f, is, bl)) {
+         this.delegate.quad(matrixEntry, quad, brightnesses, red, green, blue, f, is, i, bl);
+      }
+
+   }
+
+   private boolean capture(Matrix4f matrix, BakedQuad quad, float[] brightnesses, float red, float green, float blue, float alpha, int[] lights, boolean useQuadColorData) {
+      if ((matrix.properties() & Matrix4fc.PROPERTY_TRANSLATION) == 0) {
+         return false;
+      } else {
+         int i = (int)matrix.m30();
+         int j = (int)matrix.m31();
+         int k = (int)matrix.m32();
+         if ((float)i == matrix.m30() && (float)j == matrix.m31() && (float)k == matrix.m32() && (i & -16) == 0 && (j & -16) == 0 && (k & -16) == 0) {
+            Sprite sprite = quad.getSprite();
+            int l = sprite.getContents().getWidth();
+            if (l == sprite.getContents().getHeight() && Integer.bitCount(l) == 1 && Integer.numberOfTrailingZeros(l) <= 7) {
+               int m = lights[0];
+               if (lights[1] == m && lights[2] == m && lights[3] == m && (m & 65280) == 0 && (m >>> 16 & 65280) == 0) {
+                  int n = computeColor(quad.getVertexData(), 0, brightnesses[0], red, green, blue, alpha, useQuadColorData);
+
+                  for(int o = 1; o < 4; ++o) {
+                     if (computeColor(quad.getVertexData(), o, brightnesses[o], red, green, blue, alpha, useQuadColorData) != n) {
+                        return false;
+                     }
+                  }
+
+                  int o = computeLayout(quad);
+                  if (o == -1) {
+                     return false;
+                  } else {
+                     Direction direction = quad.getFace();
+                     int p = getCellIndex(direction, i, j, k);
+                     if (this.quads[p] != null) {
+                        this.emitUnmerged(p);
+                        this.quads[p] = null;
+                        return false;
+                     } else {
+                        this.quads[p] = quad;
+                        this.colors[p] = n;
+                        this.lights[p] = m;
+                        this.layouts[p] = o;
+                        this.capturedCells[this.capturedCount++] = p;
+                        return true;
+                     }
+                  }
+               } else {
+                  return false;
+               }
+            } else {
+               return false;
+            }
+         } else {
+            return false;
+         }
+      }
+   }
+
+   private static int computeColor(int[] vertexData, int vertex, float brightness, float red, float green, float blue, float alpha, boolean useQuadColorData) {
+      float f;
+      float g;
+      float h;
+      if (useQuadColorData) {
+         int i = vertexData[vertex * 8 + 3];
+         f = (float)(i & 255) * brightness * red;
+         g = (float)(i >> 8 & 255) * brightness * green;
+         h = (float)(i >> 16 & 255) * brightness * blue;
+      } else {
+         f = brightness * red * 255.0F;
+         g = brightness * green * 255.0F;
+         h = brightness * blue * 255.0F;
+      }
+
+      return Argb.getArgb((int)(alpha * 255.0F), (int)f, (int)g, (int)h);
+   }
+
+   private static int computeLayout(BakedQuad quad) {
+      int[] is = quad.getVertexData();
+      Direction direction = quad.getFace();
+      Direction.Axis axis = direction.getAxis();
+      Sprite sprite = quad.getSprite();
+      float f = direction.getDirection() == Direction.AxisDirection.POSITIVE ? 1.0F : 0.0F;
+      int i = 0;
+      int j = 0;
+      int[] js = new int[4];
+
+      for(int k = 0; k < 4; ++k) {
+         float g = Float.intBitsToFloat(is[k * 8]);
+         float h = Float.intBitsToFloat(is[k * 8 + 1]);
+         float l = Float.intBitsToFloat(is[k * 8 + 2]);
+         if (Math.abs(axis.choose(g, h, l) - f) > 1.0E-4F) {
+            return -1;
+         }
+
+         int m = toCorner(getPlaneP(axis, g, h, l));
+         int n = toCorner(getPlaneQ(axis, g, h, l));
+         int o = toCorner((Float.intBitsToFloat(is[k * 8 + 4]) - sprite.getMinU()) / (sprite.getMaxU() - sprite.getMinU()));
+         int p = toCorner((Float.intBitsToFloat(is[k * 8 + 5]) - sprite.getMinV()) / (sprite.getMaxV() - sprite.getMinV()));
+         if (m == -1 || n == -1 || o == -1 || p == -1) {
+            return -1;
+         }
+
+         int q = m | n << 1;
+         if ((j & 1 << q) != 0) {
+            return -1;
+         }
+
+         j |= 1 << q;
+         i |= q << k * 2;
+         js[q] = o | p << 1;
+      }
+
+      int k = js[0] & 1;
+      int m = js[0] >> 1;
+      if ((js[3] & 1) != (js[1] & 1) + (js[2] & 1) - k || (js[3] >> 1) != (js[1] >> 1) + (js[2] >> 1) - m) {
+         return -1;
+      } else {
+         int n = (js[1] & 1) - k;
+         int o = (js[2] & 1) - k;
+         int p = (js[1] >> 1) - m;
+         int q = (js[2] >> 1) - m;
+         return n * q - o * p == 0 ? -1 : i | js[0] << 8 | js[1] << 10 | js[2] << 12;
+      }
+   }
+
+   private static int toCorner(float value) {
+      if (Math.abs(value) <= 1.0E-4F) {
+         return 0;
+      } else {
+         return Math.abs(value - 1.0F) <= 1.0E-4F ? 1 : -1;
+      }
+   }
+
+   private static float getPlaneP(Direction.Axis axis, float x, float y, float z) {
+      return axis == Direction.Axis.X ? y : x;
+   }
+
+   private static float getPlaneQ(Direction.Axis axis, float x, float y, float z) {
+      return axis == Direction.Axis.Z ? y : z;
+   }
+
+   private static int getCellIndex(Direction direction, int x, int y, int z) {
+      Direction.Axis axis = direction.getAxis();
+      int i = axis.choose(x, y, z);
+      int j = axis == Direction.Axis.X ? y : x;
+      int k = axis == Direction.Axis.Z ? y : z;
+      return ((direction.ordinal() * 16 + i) * 16 + k) * 16 + j;
+   }
+
+   private boolean canMerge(int cell, int other) {
+      return this.quads[other] != null && this.quads[other].getSprite() == this.quads[cell].getSprite() && this.colors[other] == this.colors[cell] && this.lights[other] == this.lights[cell] && this.layouts[other] == this.layouts[cell];
+   }
+
+   public void end() {
+      if (this.capturedCount > 0) {
+         for(Direction direction : DIRECTIONS) {
+            for(int i = 0; i < 16; ++i) {
+               int j = (direction.ordinal() * 16 + i) * 256;
+
+               for(int k = 0; k < 16; ++k) {
+                  for(int l = 0; l < 16; ++l) {
+                     int m = j + k * 16 + l;
+                     if (this.quads[m] != null) {
+                        int n;
+                        for(n = 1; l + n < 16 && this.canMerge(m, m + n); ++n) {
+                        }
+
+                        int o = 1;
+
+                        label:
+                        while(k + o < 16) {
+                           for(int p = 0; p < n; ++p) {
+                              if (!this.canMerge(m, m + o * 16 + p)) {
+                                 break label;
+                              }
+                           }
+
+                           ++o;
+                        }
+
+                        if (n == 1 && o == 1) {
+                           this.emitUnmerged(m);
+                        } else {
+                           this.emitMerged(direction, i, l, k, n, o, m);
+                        }
+
+                        for(int p = 0; p < o; ++p) {
+                           for(int q = 0; q < n; ++q) {
+                              this.quads[m + p * 16 + q] = null;
+                           }
+                        }
+                     }
+                  }
+               }
+            }
+         }
+      }
+
+      this.capturedCount = 0;
+      this.delegate = null;
+   }
+
+   public void reset() {
+      for(int i = 0; i < this.capturedCount; ++i) {
+         this.quads[this.capturedCells[i]] = null;
+      }
+
+      this.capturedCount = 0;
+      this.delegate = null;
+   }
+
+   private void emitUnmerged(int cell) {
+      BakedQuad bakedQuad = this.quads[cell];
+      int[] is = bakedQuad.getVertexData();
+      int i = cell & 15;
+      int j = cell >> 4 & 15;
+      int k = cell >> 8 & 15;
+      Direction direction = bakedQuad.getFace();
+      Direction.Axis axis = direction.getAxis();
+      float f = (float)(axis == Direction.Axis.X ? k : i);
+      float g = (float)(axis == Direction.Axis.Y ? k : (axis == Direction.Axis.X ? i : j));
+      float h = (float)(axis == Direction.Axis.Z ? k : j);
+
+      for(int l = 0; l < 4; ++l) {
+         this.delegate.vertex(Float.intBitsToFloat(is[l * 8]) + f, Float.intBitsToFloat(is[l * 8 + 1]) + g, Float.intBitsToFloat(is[l * 8 + 2]) + h, this.colors[cell], Float.intBitsToFloat(is[l * 8 + 4]), Float.intBitsToFloat(is[l * 8 + 5]), 0, this.lights[cell], (float)direction.getOffsetX(), (float)direction.getOffsetY(), (float)direction.getOffsetZ());
+      }
+
+   }
+
+   private void emitMerged(Direction direction, int slice, int p, int q, int width, int height, int cell) {
+      Direction.Axis axis = direction.getAxis();
+      Sprite sprite = this.quads[cell].getSprite();
+      int i = this.layouts[cell];
+      int j = Integer.numberOfTrailingZeros(sprite.getContents().getWidth());
+      int k = this.lights[cell];
+      int l = i >> 8 & 1;
+      int m = i >> 9 & 1;
+      int n = (i >> 10 & 1) - l;
+      int o = (i >> 12 & 1) - l;
+      int r = (i >> 11 & 1) - m;
+      int s = (i >> 13 & 1) - m;
+      float f = (float)(slice + (direction.getDirection() == Direction.AxisDirection.POSITIVE ? 1 : 0));
+
+      for(int t = 0; t < 4; ++t) {
+         int u = i >> t * 2 & 1;
+         int v = i >> t * 2 + 1 & 1;
+         float g = (float)(p + u * width);
+         float h = (float)(q + v * height);
+         int w = l + n * u * width + o * v * height;
+         int x = m + r * u * width + s * v * height;
+         int y = (k & 255 | 16384 | w + 32 << 8 | (j & 1) << 15) & '\uffff';
+         int z = (k >>> 16 & 255 | x + 32 << 8 | (j >> 1 & 3) << 14) & '\uffff';
+         this.delegate.vertex(axis == Direction.Axis.X ? f : g, axis == Direction.Axis.Y ? f : (axis == Direction.Axis.X ? g : h), axis == Direction.Axis.Z ? f : h, this.colors[cell], sprite.getMinU(), sprite.getMinV(), 0, y | z << 16, (float)direction.getOffsetX(), (float)direction.getOffsetY(), (float)direction.getOffsetZ());
+      }
+
+   }
+}
@@ -1,7 +1,5 @@
 package net.minecraft.client.render.chunk;
 
-import com.google.common.collect.ImmutableMap;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import net.fabricmc.api.EnvType;
@@ -13,8 +11,6 @@ import net.minecraft.util.crash.CrashException;
 import net.minecraft.util.crash.CrashReport;
 import net.minecraft.util.crash.CrashReportSection;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.chunk.ChunkSection;
-import net.minecraft.world.chunk.EmptyChunk;
 import net.minecraft.world.chunk.PalettedContainer;
 import net.minecraft.world.chunk.WorldChunk;
 import net.minecraft.world.gen.chunk.DebugChunkGenerator;
@@ -28,21 +24,11 @@ class RenderedChunk {
    private final boolean debugWorld;
    private final WorldChunk chunk;
 
-   RenderedChunk(WorldChunk chunk) {
+   RenderedChunk(WorldChunk chunk, Map blockEntities, @Nullable List blockStateContainers) {
       this.chunk = chunk;
       this.debugWorld = chunk.getWorld().isDebugWorld();
-      this.blockEntities = ImmutableMap.copyOf(chunk.getBlockEntities());
-      if (chunk instanceof EmptyChunk) {
-         this.blockStateContainers = null;
-      } else {
-         ChunkSection[] chunkSections = chunk.getSectionArray();
-         this.blockStateContainers = new ArrayList(chunkSections.length);
-
-         for(ChunkSection chunkSection : chunkSections) {
-            this.blockStateContainers.add(chunkSection.isEmpty() ? null : chunkSection.getBlockStateContainer().copy());
-         }
-      }
-
+      this.blockEntities = blockEntities;
+      this.blockStateContainers = blockStateContainers;
    }
 
    @Nullable
@@ -30,6 +30,9 @@ import org.jetbrains.annotations.Nullable;
 
 @Environment(EnvType.CLIENT)
 public class SectionBuilder {
+   public static final boolean COMPACT_VERTICES = Boolean.parseBoolean(System.getProperty("SectionBuilder.compactVertices", "false"));
+   private static final boolean GREEDY_MESHING = Boolean.parseBoolean(System.getProperty("SectionBuilder.greedyMeshing", "false"));
+   private static final ThreadLocal GREEDY_MESHERS = ThreadLocal.withInitial(GreedyQuadMesher::new);
    private final BlockRenderManager blockRenderManager;
    private final BlockEntityRenderDispatcher blockEntityRenderDispatcher;
 
@@ -44,9 +47,13 @@ public class SectionBuilder {
       BlockPos blockPos2 = blockPos.add(15, 15, 15);
       ChunkOcclusionDataBuilder chunkOcclusionDataBuilder = new ChunkOcclusionDataBuilder();
       MatrixStack matrixStack = new MatrixStack();
-      BlockModelRenderer.enableBrightnessCache();
+      BlockModelRenderer.enableBrightnessCache(blockPos);
       Map<RenderLayer, BufferBuilder> map = new Reference2ObjectArrayMap(RenderLayer.getBlockLayers().size());
       Random random = Random.create();
+      GreedyQuadMesher greedyQuadMesher = GREEDY_MESHING ? (GreedyQuadMesher)GREEDY_MESHERS.get() : null;
+      if (greedyQuadMesher != null) {
+         greedyQuadMesher.reset();
+      }
 
       for(BlockPos blockPos3 : BlockPos.iterate(blockPos, blockPos2)) {
          BlockState blockState = renderRegion.getBlockState(blockPos3);
@@ -73,17 +80,27 @@ public class SectionBuilder {
             BufferBuilder bufferBuilder = this.beginBufferBuilding(map, allocatorStorage, renderLayer);
             matrixStack.push();
             matrixStack.translate((float)ChunkSectionPos.getLocalCoord(blockPos3.getX()), (float)ChunkSectionPos.getLocalCoord(blockPos3.getY()), (float)ChunkSectionPos.getLocalCoord(blockPos3.getZ()));
-            this.blockRenderManager.renderBlock(blockState, blockPos3, renderRegion, matrixStack, bufferBuilder, true, random);
+            if (greedyQuadMesher != null && renderLayer == RenderLayer.getSolid()) {
+               greedyQuadMesher.setDelegate(bufferBuilder);
+               this.blockRenderManager.renderBlock(blockState, blockPos3, renderRegion, matrixStack, greedyQuadMesher, true, random);
+            } else {
+               this.blockRenderManager.renderBlock(blockState, blockPos3, renderRegion, matrixStack, bufferBuilder, true, random);
+            }
+
             matrixStack.pop();
          }
       }
 
+      if (greedyQuadMesher != null) {
+         greedyQuadMesher.end();
+      }
+
       for(Map.Entry entry : map.entrySet()) {
          RenderLayer renderLayer2 = (RenderLayer)entry.getKey();
          BuiltBuffer builtBuffer = ((BufferBuilder)entry.getValue()).endNullable();
          if (builtBuffer != null) {
             if (renderLayer2 == RenderLayer.getTranslucent()) {
-               renderData.translucencySortingData = builtBuffer.sortQuads(allocatorStorage.get(RenderLayer.getTranslucent()), vertexSorter);
+               renderData.translucencySortingData = builtBuffer.sortQuads(allocatorStorage.get(RenderLayer.getTranslucent()), vertexSorter, true);
             }
 
             renderData.buffers.put(renderLayer2, builtBuffer);
@@ -99,7 +116,7 @@ public class SectionBuilder {
       BufferBuilder bufferBuilder = (BufferBuilder)builders.get(layer);
       if (bufferBuilder == null) {
          BufferAllocator bufferAllocator = allocatorStorage.get(layer);
-         bufferBuilder = new BufferBuilder(bufferAllocator, VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL);
+         bufferBuilder = new BufferBuilder(bufferAllocator, VertexFormat.DrawMode.QUADS, COMPACT_VERTICES ? VertexFormats.PACKED_POSITION_COLOR_TEXTURE_LIGHT_NORMAL : VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL);
          builders.put(layer, bufferBuilder);
       }
 
@@ -0,0 +1,93 @@
+package net.minecraft.client.render.chunk;
+
+import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Locale;
+import java.util.Map;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.HeightLimitView;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+@Environment(EnvType.CLIENT)
+public class SectionSnapshotStore {
+   private static final int MAX_SECTIONS = Integer.getInteger("SectionSnapshotStore.maxSections", 4096);
+   private final Long2ObjectLinkedOpenHashMap sections = new Long2ObjectLinkedOpenHashMap();
+   private final Long2ObjectOpenHashMap blockEntities = new Long2ObjectOpenHashMap();
+   private long copiedSections;
+   private long reusedSections;
+
+   @Nullable
+   public synchronized PalettedContainer getBlockStates(WorldChunk chunk, int sectionIndex) {
+      ChunkSection chunkSection = chunk.getSectionArray()[sectionIndex];
+      if (chunkSection.isEmpty()) {
+         return null;
+      } else {
+         ChunkPos chunkPos = chunk.getPos();
+         long l = ChunkSectionPos.asLong(chunkPos.x, chunk.sectionIndexToCoord(sectionIndex), chunkPos.z);
+         Snapshot snapshot = (Snapshot)this.sections.getAndMoveToLast(l);
+         if (snapshot != null && snapshot.chunk == chunk) {
+            ++this.reusedSections;
+            return snapshot.blockStates;
+         } else {
+            PalettedContainer palettedContainer = chunkSection.getBlockStateContainer().copy();
+            this.sections.putAndMoveToLast(l, new Snapshot(chunk, palettedContainer));
+            ++this.copiedSections;
+
+            while(this.sections.size() > MAX_SECTIONS) {
+               this.sections.removeFirst();
+            }
+
+            return palettedContainer;
+         }
+      }
+   }
+
+   public synchronized Map getBlockEntities(WorldChunk chunk) {
+      long l = chunk.getPos().toLong();
+      BlockEntities blockEntities = (BlockEntities)this.blockEntities.get(l);
+      if (blockEntities == null || blockEntities.chunk != chunk) {
+         blockEntities = new BlockEntities(chunk, ImmutableMap.copyOf(chunk.getBlockEntities()));
+         this.blockEntities.put(l, blockEntities);
+      }
+
+      return blockEntities.blockEntities;
+   }
+
+   public synchronized void onBlockChanged(BlockPos pos) {
+      this.sections.remove(ChunkSectionPos.toLong(pos));
+      this.blockEntities.remove(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ())));
+   }
+
+   public synchronized void onChunkChanged(HeightLimitView world, ChunkPos chunkPos) {
+      for(int i = world.getBottomSectionCoord(); i < world.getTopSectionCoord(); ++i) {
+         this.sections.remove(ChunkSectionPos.asLong(chunkPos.x, i, chunkPos.z));
+      }
+
+      this.blockEntities.remove(chunkPos.toLong());
+   }
+
+   public synchronized void clear() {
+      this.sections.clear();
+      this.blockEntities.clear();
+   }
+
+   public synchronized String getDebugString() {
+      return String.format(Locale.ROOT, "Snapshots: %d (copied %d, reused %d)", this.sections.size(), this.copiedSections, this.reusedSections);
+   }
+
+   @Environment(EnvType.CLIENT)
+   static record Snapshot(WorldChunk chunk, PalettedContainer blockStates) {
+   }
+
+   @Environment(EnvType.CLIENT)
+   static record BlockEntities(WorldChunk chunk, Map blockEntities) {
+   }
+}
@@ -0,0 +1,51 @@
+package net.minecraft.client.render.chunk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+@Environment(EnvType.CLIENT)
+public class TaskTimeHistogram {
+   private static final int BUCKET_COUNT = 32;
+   private final AtomicLongArray buckets = new AtomicLongArray(32);
+   private final AtomicLong count = new AtomicLong();
+
+   public void record(long nanos) {
+      long l = Math.max(1L, nanos / 1000L);
+      int i = Math.min(31, 63 - Long.numberOfLeadingZeros(l));
+      this.buckets.incrementAndGet(i);
+      this.count.incrementAndGet();
+   }
+
+   public long getCount() {
+      return this.count.get();
+   }
+
+   public double getPercentileMillis(double percentile) {
+      long l = this.count.get();
+      if (l == 0L) {
+         return 0.0;
+      } else {
+         long m = Math.max(1L, (long)Math.ceil((double)l * percentile));
+         long n = 0L;
+
+         for(int i = 0; i < 32; ++i) {
+            n += this.buckets.get(i);
+            if (n >= m) {
+               return (double)(1L << i + 1) / 1000.0;
+            }
+         }
+
+         return (double)(1L << 32) / 1000.0;
+      }
+   }
+
+   public void reset() {
+      for(int i = 0; i < 32; ++i) {
+         this.buckets.set(i, 0L);
+      }
+
+      this.count.set(0L);
+   }
+}
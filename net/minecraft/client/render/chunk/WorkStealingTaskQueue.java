@@ -0,0 +1,147 @@
+package net.minecraft.client.render.chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.Nullable;
+
+@Environment(EnvType.CLIENT)
+public class WorkStealingTaskQueue {
+   private final Worker[] workers;
+   private final AtomicInteger nextWorker = new AtomicInteger();
+   private final AtomicInteger size = new AtomicInteger();
+
+   public WorkStealingTaskQueue(int workerCount) {
+      this.workers = new Worker[Math.max(1, workerCount)];
+
+      for(int i = 0; i < this.workers.length; ++i) {
+         this.workers[i] = new Worker();
+      }
+
+   }
+
+   public int getWorkerCount() {
+      return this.workers.length;
+   }
+
+   public int size() {
+      return this.size.get();
+   }
+
+   public boolean isEmpty() {
+      return this.size.get() == 0;
+   }
+
+   public void offer(ChunkBuilder.BuiltChunk.Task task) {
+      Worker worker = this.workers[Math.floorMod(this.nextWorker.getAndIncrement(), this.workers.length)];
+      synchronized(worker) {
+         if (task.prioritized) {
+            worker.prioritizedTasks.add(task);
+         } else {
+            worker.tasks.add(task);
+         }
+
+         this.size.incrementAndGet();
+      }
+   }
+
+   @Nullable
+   public ChunkBuilder.BuiltChunk.Task poll(int workerIndex) {
+      Worker worker = this.workers[workerIndex];
+      if (worker.processablePrioritizedTaskCount <= 0) {
+         ChunkBuilder.BuiltChunk.Task task = this.pollNearest(workerIndex, false);
+         if (task != null) {
+            worker.processablePrioritizedTaskCount = 2;
+            return task;
+         }
+      }
+
+      ChunkBuilder.BuiltChunk.Task task = this.pollNearest(workerIndex, true);
+      if (task != null) {
+         --worker.processablePrioritizedTaskCount;
+         return task;
+      } else {
+         worker.processablePrioritizedTaskCount = 2;
+         return this.pollNearest(workerIndex, false);
+      }
+   }
+
+   @Nullable
+   private ChunkBuilder.BuiltChunk.Task pollNearest(int workerIndex, boolean prioritized) {
+      while(true) {
+         Worker worker = null;
+         ChunkBuilder.BuiltChunk.Task task = null;
+
+         for(int i = 0; i < this.workers.length; ++i) {
+            Worker worker2 = this.workers[(workerIndex + i) % this.workers.length];
+            ChunkBuilder.BuiltChunk.Task task2 = worker2.peek(prioritized);
+            if (task2 != null && (task == null || task2.compareTo(task) < 0)) {
+               worker = worker2;
+               task = task2;
+            }
+         }
+
+         if (worker == null) {
+            return null;
+         }
+
+         if (worker.remove(prioritized, task)) {
+            this.size.decrementAndGet();
+            return task;
+         }
+      }
+   }
+
+   public boolean tryStartWorker(int workerIndex) {
+      return this.workers[workerIndex].running.compareAndSet(false, true);
+   }
+
+   public void stopWorker(int workerIndex) {
+      this.workers[workerIndex].running.set(false);
+   }
+
+   public void clear(Consumer onRemoved) {
+      for(Worker worker : this.workers) {
+         List<ChunkBuilder.BuiltChunk.Task> list;
+         synchronized(worker) {
+            list = new ArrayList(worker.prioritizedTasks.size() + worker.tasks.size());
+            list.addAll(worker.prioritizedTasks);
+            list.addAll(worker.tasks);
+            worker.prioritizedTasks.clear();
+            worker.tasks.clear();
+            this.size.addAndGet(-list.size());
+         }
+
+         list.forEach(onRemoved);
+      }
+
+   }
+
+   @Environment(EnvType.CLIENT)
+   static class Worker {
+      final PriorityQueue prioritizedTasks = new PriorityQueue();
+      final PriorityQueue tasks = new PriorityQueue();
+      final AtomicBoolean running = new AtomicBoolean();
+      int processablePrioritizedTaskCount = 2;
+
+      @Nullable
+      synchronized ChunkBuilder.BuiltChunk.Task peek(boolean prioritized) {
+         return (ChunkBuilder.BuiltChunk.Task)(prioritized ? this.prioritizedTasks : this.tasks).peek();
+      }
+
+      synchronized boolean remove(boolean prioritized, ChunkBuilder.BuiltChunk.Task task) {
+         PriorityQueue<ChunkBuilder.BuiltChunk.Task> priorityQueue = prioritized ? this.prioritizedTasks : this.tasks;
+         if (priorityQueue.peek() == task) {
+            priorityQueue.poll();
+            return true;
+         } else {
+            return false;
+         }
+      }
+   }
+}
@@ -1,5 +1,6 @@
 package net.minecraft.client.render.entity.animation;
 
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,19 +13,40 @@ import org.joml.Vector3f;
 
 @Environment(EnvType.CLIENT)
 public class AnimationHelper {
+   private static final boolean COMPILED_ANIMATIONS = Boolean.parseBoolean(System.getProperty("AnimationHelper.compiledAnimations", "true"));
+   private static final Reference2ObjectOpenHashMap COMPILED = new Reference2ObjectOpenHashMap();
+
    public static void animate(SinglePartEntityModel model, Animation animation, long runningTime, float scale, Vector3f tempVec) {
       float f = getRunningSeconds(animation, runningTime);
+      if (COMPILED_ANIMATIONS) {
+         getCompiled(animation).animate(model, f, scale, tempVec);
+      } else {
+         animateUncompiled(model, animation, f, scale, tempVec);
+      }
+
+   }
+
+   private static CompiledAnimation getCompiled(Animation animation) {
+      CompiledAnimation compiledAnimation = (CompiledAnimation)COMPILED.get(animation);
+      if (compiledAnimation == null) {
+         compiledAnimation = CompiledAnimation.compile(animation);
+         COMPILED.put(animation, compiledAnimation);
+      }
+
+      return compiledAnimation;
+   }
 
+   private static void animateUncompiled(SinglePartEntityModel model, Animation animation, float runningSeconds, float scale, Vector3f tempVec) {
       for(Map.Entry entry : animation.boneAnimations().entrySet()) {
          Optional<ModelPart> optional = model.getChild((String)entry.getKey());
          List<Transformation> list = (List)entry.getValue();
          optional.ifPresent((part) -> list.forEach((transformation) -> {
                Keyframe[] keyframes = transformation.keyframes();
-               int i = Math.max(0, MathHelper.binarySearch(0, keyframes.length, (index) -> f <= keyframes[index].timestamp()) - 1);
+               int i = Math.max(0, MathHelper.binarySearch(0, keyframes.length, (index) -> runningSeconds <= keyframes[index].timestamp()) - 1);
                int j = Math.min(keyframes.length - 1, i + 1);
                Keyframe keyframe = keyframes[i];
                Keyframe keyframe2 = keyframes[j];
-               float h = f - keyframe.timestamp();
+               float h = runningSeconds - keyframe.timestamp();
                float k;
                if (j != i) {
                   k = MathHelper.clamp(h / (keyframe2.timestamp() - keyframe.timestamp()), 0.0F, 1.0F);
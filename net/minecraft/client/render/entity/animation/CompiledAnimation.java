@@ -0,0 +1,197 @@
+package net.minecraft.client.render.entity.animation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.model.ModelPart;
+import net.minecraft.client.render.entity.model.SinglePartEntityModel;
+import net.minecraft.util.math.MathHelper;
+import org.joml.Vector3f;
+
+@Environment(EnvType.CLIENT)
+public class CompiledAnimation {
+   private static final int POSE_CACHE_SIZE = 8;
+   private final String[] boneNames;
+   private final Channel[] channels;
+   private final Map parts = new WeakHashMap();
+   private final float[][] poses = new float[8][];
+   private final float[] poseKeys = new float[16];
+   private final float[] pendingPoseKeys = new float[16];
+   private final float[] scratchPose;
+
+   private CompiledAnimation(String[] boneNames, Channel[] channels) {
+      this.boneNames = boneNames;
+      this.channels = channels;
+      this.scratchPose = new float[channels.length * 3];
+      Arrays.fill(this.poseKeys, Float.NaN);
+      Arrays.fill(this.pendingPoseKeys, Float.NaN);
+   }
+
+   public static CompiledAnimation compile(Animation animation) {
+      List<String> list = new ArrayList();
+      List<Channel> list2 = new ArrayList();
+
+      for(Map.Entry entry : animation.boneAnimations().entrySet()) {
+         int i = list.size();
+         list.add((String)entry.getKey());
+
+         for(Transformation transformation : (List<Transformation>)entry.getValue()) {
+            list2.add(Channel.of(i, transformation));
+         }
+      }
+
+      return new CompiledAnimation((String[])list.toArray(new String[0]), (Channel[])list2.toArray(new Channel[0]));
+   }
+
+   public void animate(SinglePartEntityModel model, float runningSeconds, float scale, Vector3f tempVec) {
+      ModelPart[] modelParts = this.getParts(model);
+      float[] fs = this.getPose(runningSeconds, scale, tempVec);
+
+      for(int i = 0; i < this.channels.length; ++i) {
+         ModelPart modelPart = modelParts[this.channels[i].bone];
+         if (modelPart != null) {
+            tempVec.set(fs[i * 3], fs[i * 3 + 1], fs[i * 3 + 2]);
+            this.channels[i].target.apply(modelPart, tempVec);
+         }
+      }
+
+   }
+
+   private ModelPart[] getParts(SinglePartEntityModel model) {
+      ModelPart[] modelParts = (ModelPart[])this.parts.get(model);
+      if (modelParts == null) {
+         modelParts = new ModelPart[this.boneNames.length];
+
+         for(int i = 0; i < this.boneNames.length; ++i) {
+            modelParts[i] = (ModelPart)model.getChild(this.boneNames[i]).orElse((Object)null);
+         }
+
+         this.parts.put(model, modelParts);
+      }
+
+      return modelParts;
+   }
+
+   private float[] getPose(float runningSeconds, float scale, Vector3f tempVec) {
+      int i = (Float.floatToIntBits(runningSeconds) * 31 + Float.floatToIntBits(scale)) & 7;
+      float[] fs = this.poses[i];
+      if (fs != null && this.poseKeys[i * 2] == runningSeconds && this.poseKeys[i * 2 + 1] == scale) {
+         return fs;
+      } else {
+         if (this.pendingPoseKeys[i * 2] == runningSeconds && this.pendingPoseKeys[i * 2 + 1] == scale) {
+            if (fs == null) {
+               fs = new float[this.channels.length * 3];
+               this.poses[i] = fs;
+            }
+
+            this.poseKeys[i * 2] = runningSeconds;
+            this.poseKeys[i * 2 + 1] = scale;
+         } else {
+            fs = this.scratchPose;
+            this.pendingPoseKeys[i * 2] = runningSeconds;
+            this.pendingPoseKeys[i * 2 + 1] = scale;
+         }
+
+         for(int j = 0; j < this.channels.length; ++j) {
+            this.channels[j].sample(runningSeconds, scale, tempVec);
+            fs[j * 3] = tempVec.x;
+            fs[j * 3 + 1] = tempVec.y;
+            fs[j * 3 + 2] = tempVec.z;
+         }
+
+         return fs;
+      }
+   }
+
+   @Environment(EnvType.CLIENT)
+   static class Channel {
+      private static final byte CUSTOM = 0;
+      private static final byte LINEAR = 1;
+      private static final byte CUBIC = 2;
+      final int bone;
+      final Transformation.Target target;
+      private final Keyframe[] keyframes;
+      private final float[] timestamps;
+      private final float[] values;
+      private final byte[] interpolations;
+
+      private Channel(int bone, Transformation.Target target, Keyframe[] keyframes, float[] timestamps, float[] values, byte[] interpolations) {
+         this.bone = bone;
+         this.target = target;
+         this.keyframes = keyframes;
+         this.timestamps = timestamps;
+         this.values = values;
+         this.interpolations = interpolations;
+      }
+
+      static Channel of(int bone, Transformation transformation) {
+         Keyframe[] keyframes = transformation.keyframes();
+         float[] fs = new float[keyframes.length];
+         float[] gs = new float[keyframes.length * 3];
+         byte[] bs = new byte[keyframes.length];
+
+         for(int i = 0; i < keyframes.length; ++i) {
+            Keyframe keyframe = keyframes[i];
+            fs[i] = keyframe.timestamp();
+            gs[i * 3] = keyframe.target().x();
+            gs[i * 3 + 1] = keyframe.target().y();
+            gs[i * 3 + 2] = keyframe.target().z();
+            if (keyframe.interpolation() == Transformation.Interpolations.LINEAR) {
+               bs[i] = 1;
+            } else if (keyframe.interpolation() == Transformation.Interpolations.CUBIC) {
+               bs[i] = 2;
+            } else {
+               bs[i] = 0;
+            }
+         }
+
+         return new Channel(bone, transformation.target(), keyframes, fs, gs, bs);
+      }
+
+      void sample(float runningSeconds, float scale, Vector3f dest) {
+         float[] fs = this.timestamps;
+         int i = 0;
+         int j = fs.length;
+
+         while(j > 0) {
+            int k = j / 2;
+            int l = i + k;
+            if (runningSeconds <= fs[l]) {
+               j = k;
+            } else {
+               i = l + 1;
+               j -= k + 1;
+            }
+         }
+
+         int m = Math.max(0, i - 1);
+         int n = Math.min(fs.length - 1, m + 1);
+         float f = runningSeconds - fs[m];
+         float g;
+         if (n != m) {
+            g = MathHelper.clamp(f / (fs[n] - fs[m]), 0.0F, 1.0F);
+         } else {
+            g = 0.0F;
+         }
+
+         float[] gs = this.values;
+         switch (this.interpolations[n]) {
+            case 1:
+               dest.set(((gs[n * 3] - gs[m * 3]) * g + gs[m * 3]) * scale, ((gs[n * 3 + 1] - gs[m * 3 + 1]) * g + gs[m * 3 + 1]) * scale, ((gs[n * 3 + 2] - gs[m * 3 + 2]) * g + gs[m * 3 + 2]) * scale);
+               break;
+            case 2:
+               int o = Math.max(0, m - 1) * 3;
+               int p = Math.min(fs.length - 1, n + 1) * 3;
+               dest.set(MathHelper.catmullRom(g, gs[o], gs[m * 3], gs[n * 3], gs[p]) * scale, MathHelper.catmullRom(g, gs[o + 1], gs[m * 3 + 1], gs[n * 3 + 1], gs[p + 1]) * scale, MathHelper.catmullRom(g, gs[o + 2], gs[m * 3 + 2], gs[n * 3 + 2], gs[p + 2]) * scale);
+               break;
+            default:
+               this.keyframes[n].interpolation().apply(dest, g, this.keyframes, m, n, scale);
+         }
+
+      }
+   }
+}
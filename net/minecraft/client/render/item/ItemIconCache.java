@@ -0,0 +1,207 @@
+package net.minecraft.client.render.item;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.systems.VertexSorter;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.util.List;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.color.item.ItemColors;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.json.ModelOverrideList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fStack;
+
+@Environment(EnvType.CLIENT)
+public class ItemIconCache {
+   public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ItemIconCache.enabled", "true"));
+   private static final int ATLAS_SLOTS = Math.max(1, Integer.getInteger("ItemIconCache.atlasSlots", 16));
+   private static final int MAX_TINTS = 4;
+   private final ItemModels models;
+   private final ItemColors colors;
+   private final Reference2IntOpenHashMap tintMasks = new Reference2IntOpenHashMap();
+   private final Object2IntLinkedOpenHashMap icons = new Object2IntLinkedOpenHashMap();
+   @Nullable
+   private Framebuffer framebuffer;
+   private int tileSize;
+   private int nextSlot;
+   private Matrix4f projectionMatrix;
+   private VertexSorter vertexSorting;
+   private final float[] shaderColor = new float[4];
+   private final int[] viewport = new int[4];
+   private int previousFramebuffer;
+
+   public ItemIconCache(ItemModels models, ItemColors colors) {
+      this.models = models;
+      this.colors = colors;
+      this.tintMasks.defaultReturnValue(-2);
+      this.icons.defaultReturnValue(-1);
+   }
+
+   @Nullable
+   public Key getKey(ItemStack stack, BakedModel model) {
+      if (!stack.hasGlint() && !model.isBuiltin() && this.models.getModel(stack).getOverrides() == ModelOverrideList.EMPTY) {
+         int i = this.getTintMask(model);
+         if (i < 0) {
+            return null;
+         } else {
+            return new Key(model, (i & 1) != 0 ? this.colors.getColor(stack, 0) : -1, (i & 2) != 0 ? this.colors.getColor(stack, 1) : -1, (i & 4) != 0 ? this.colors.getColor(stack, 2) : -1, (i & 8) != 0 ? this.colors.getColor(stack, 3) : -1);
+         }
+      } else {
+         return null;
+      }
+   }
+
+   private int getTintMask(BakedModel model) {
+      int i = this.tintMasks.getInt(model);
+      if (i == -2) {
+         i = 0;
+         Random random = Random.create();
+
+         for(Direction direction : Direction.values()) {
+            random.setSeed(42L);
+            i |= getTintMask(model.getQuads((BlockState)null, direction, random));
+         }
+
+         random.setSeed(42L);
+         i |= getTintMask(model.getQuads((BlockState)null, (Direction)null, random));
+         this.tintMasks.put(model, i);
+      }
+
+      return i;
+   }
+
+   private static int getTintMask(List quads) {
+      int i = 0;
+
+      for(BakedQuad bakedQuad : (List<BakedQuad>)quads) {
+         if (bakedQuad.getSprite().getContents().isAnimated()) {
+            return -1;
+         }
+
+         if (bakedQuad.hasColor()) {
+            int j = bakedQuad.getColorIndex();
+            if (j < 0 || j >= 4) {
+               return -1;
+            }
+
+            i |= 1 << j;
+         }
+      }
+
+      return i;
+   }
+
+   public int getSlot(Key key, double scaleFactor) {
+      int i = (int)Math.ceil(16.0 * scaleFactor);
+      if (this.framebuffer == null || this.tileSize != i) {
+         this.resize(i);
+      }
+
+      return this.icons.getAndMoveToLast(key);
+   }
+
+   private void resize(int tileSize) {
+      this.clear();
+      this.tileSize = tileSize;
+      int i = ATLAS_SLOTS * tileSize;
+      if (this.framebuffer == null) {
+         this.framebuffer = new SimpleFramebuffer(i, i, true, MinecraftClient.IS_SYSTEM_MAC);
+      } else {
+         this.framebuffer.resize(i, i, MinecraftClient.IS_SYSTEM_MAC);
+      }
+
+      this.framebuffer.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+   }
+
+   public int allocateSlot(Key key) {
+      int i;
+      if (this.nextSlot < ATLAS_SLOTS * ATLAS_SLOTS) {
+         i = this.nextSlot++;
+      } else {
+         i = this.icons.removeFirstInt();
+      }
+
+      this.icons.putAndMoveToLast(key, i);
+      return i;
+   }
+
+   public void beginRender(int slot) {
+      int i = slot % ATLAS_SLOTS * this.tileSize;
+      int j = slot / ATLAS_SLOTS * this.tileSize;
+      this.projectionMatrix = RenderSystem.getProjectionMatrix();
+      this.vertexSorting = RenderSystem.getVertexSorting();
+      System.arraycopy(RenderSystem.getShaderColor(), 0, this.shaderColor, 0, 4);
+      this.previousFramebuffer = GlStateManager._getInteger(36006);
+      GlStateManager._getIntegerv(2978, this.viewport);
+      this.framebuffer.beginWrite(false);
+      RenderSystem.viewport(i, j, this.tileSize, this.tileSize);
+      RenderSystem.enableScissor(i, j, this.tileSize, this.tileSize);
+      RenderSystem.clearColor(0.0F, 0.0F, 0.0F, 0.0F);
+      RenderSystem.clear(16640, MinecraftClient.IS_SYSTEM_MAC);
+      RenderSystem.disableScissor();
+      RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+      RenderSystem.setProjectionMatrix((new Matrix4f()).setOrtho(0.0F, 16.0F, 16.0F, 0.0F, 1000.0F, 21000.0F), VertexSorter.BY_Z);
+      Matrix4fStack matrix4fStack = RenderSystem.getModelViewStack();
+      matrix4fStack.pushMatrix();
+      matrix4fStack.translation(0.0F, 0.0F, -11000.0F);
+      RenderSystem.applyModelViewMatrix();
+   }
+
+   public void endRender() {
+      Matrix4fStack matrix4fStack = RenderSystem.getModelViewStack();
+      matrix4fStack.popMatrix();
+      RenderSystem.applyModelViewMatrix();
+      RenderSystem.setProjectionMatrix(this.projectionMatrix, this.vertexSorting);
+      RenderSystem.setShaderColor(this.shaderColor[0], this.shaderColor[1], this.shaderColor[2], this.shaderColor[3]);
+      GlStateManager._glBindFramebuffer(36160, this.previousFramebuffer);
+      RenderSystem.viewport(this.viewport[0], this.viewport[1], this.viewport[2], this.viewport[3]);
+   }
+
+   public void drawIcon(Matrix4f matrix, int slot, float x, float y, float z) {
+      float f = 1.0F / (float)ATLAS_SLOTS;
+      float g = (float)(slot % ATLAS_SLOTS) * f;
+      float h = (float)(slot / ATLAS_SLOTS) * f;
+      RenderSystem.setShaderTexture(0, this.framebuffer.getColorAttachment());
+      RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+      RenderSystem.enableBlend();
+      RenderSystem.blendFunc(GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+      RenderSystem.enableDepthTest();
+      BufferBuilder bufferBuilder = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+      bufferBuilder.vertex(matrix, x, y, z).texture(g, h + f);
+      bufferBuilder.vertex(matrix, x, y + 16.0F, z).texture(g, h);
+      bufferBuilder.vertex(matrix, x + 16.0F, y + 16.0F, z).texture(g + f, h);
+      bufferBuilder.vertex(matrix, x + 16.0F, y, z).texture(g + f, h + f);
+      BufferRenderer.drawWithGlobalProgram(bufferBuilder.end());
+      RenderSystem.disableDepthTest();
+      RenderSystem.defaultBlendFunc();
+      RenderSystem.disableBlend();
+   }
+
+   public void clear() {
+      this.icons.clear();
+      this.tintMasks.clear();
+      this.nextSlot = 0;
+   }
+
+   @Environment(EnvType.CLIENT)
+   public static record Key(BakedModel model, int tint0, int tint1, int tint2, int tint3) {
+   }
+}
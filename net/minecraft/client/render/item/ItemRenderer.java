@@ -63,6 +63,7 @@ public class ItemRenderer implements SynchronousResourceReloader {
    private final TextureManager textureManager;
    private final ItemColors colors;
    private final BuiltinModelItemRenderer builtinModelItemRenderer;
+   private final ItemIconCache iconCache;
 
    public ItemRenderer(MinecraftClient client, TextureManager manager, BakedModelManager bakery, ItemColors colors, BuiltinModelItemRenderer builtinModelItemRenderer) {
       this.client = client;
@@ -77,12 +78,17 @@ public class ItemRenderer implements SynchronousResourceReloader {
       }
 
       this.colors = colors;
+      this.iconCache = new ItemIconCache(this.models, colors);
    }
 
    public ItemModels getModels() {
       return this.models;
    }
 
+   public ItemIconCache getIconCache() {
+      return this.iconCache;
+   }
+
    private void renderBakedItemModel(BakedModel model, ItemStack stack, int light, int overlay, MatrixStack matrices, VertexConsumer vertices) {
       Random random = Random.create();
       long l = 42L;
@@ -223,6 +229,7 @@ public class ItemRenderer implements SynchronousResourceReloader {
 
    public void reload(ResourceManager manager) {
       this.models.reloadModels();
+      this.iconCache.clear();
    }
 
    static {
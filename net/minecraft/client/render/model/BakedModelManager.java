@@ -2,11 +2,13 @@ package net.minecraft.client.render.model;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.gson.JsonObject;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.io.Reader;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -39,6 +41,7 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
 import net.minecraft.util.Util;
 import net.minecraft.util.profiler.Profiler;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 @Environment(EnvType.CLIENT)
@@ -53,11 +56,11 @@ public class BakedModelManager implements ResourceReloader, AutoCloseable, Fabri
    private BakedModel missingModel;
    private Object2IntMap stateLookup;
 
-   public BakedModelManager(TextureManager textureManager, BlockColors colorMap, int mipmap) {
+   public BakedModelManager(TextureManager textureManager, BlockColors colorMap, int mipmap, @Nullable Path stitchCacheDirectory) {
       this.colorMap = colorMap;
       this.mipmapLevels = mipmap;
       this.blockModelCache = new BlockModels(this);
-      this.atlasManager = new SpriteAtlasManager(LAYERS_TO_LOADERS, textureManager);
+      this.atlasManager = new SpriteAtlasManager(LAYERS_TO_LOADERS, textureManager, stitchCacheDirectory);
    }
 
    public BakedModel getModel(ModelIdentifier id) {
@@ -78,7 +81,7 @@ public class BakedModelManager implements ResourceReloader, AutoCloseable, Fabri
       CompletableFuture<Map<Identifier, List<BlockStatesLoader.SourceTrackedData>>> completableFuture2 = reloadBlockStates(manager, prepareExecutor);
       CompletableFuture<ModelLoader> completableFuture3 = completableFuture.thenCombineAsync(completableFuture2, (jsonUnbakedModels, blockStates) -> new ModelLoader(this.colorMap, prepareProfiler, jsonUnbakedModels, blockStates), prepareExecutor);
       Map<Identifier, CompletableFuture<SpriteAtlasManager.AtlasPreparation>> map = this.atlasManager.reload(manager, this.mipmapLevels, prepareExecutor);
-      CompletableFuture var10000 = CompletableFuture.allOf((CompletableFuture[])Stream.concat(map.values().stream(), Stream.of(completableFuture3)).toArray((i) -> new CompletableFuture[i])).thenApplyAsync((void1) -> this.bake(prepareProfiler, (Map)map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, (entry) -> (SpriteAtlasManager.AtlasPreparation)((CompletableFuture)entry.getValue()).join())), (ModelLoader)completableFuture3.join()), prepareExecutor).thenCompose((result) -> result.readyForUpload.thenApply((void_) -> result));
+      CompletableFuture var10000 = CompletableFuture.allOf((CompletableFuture[])Stream.concat(map.values().stream(), Stream.of(completableFuture3)).toArray((i) -> new CompletableFuture[i])).thenApplyAsync((void1) -> this.bake(prepareProfiler, prepareExecutor, (Map)map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, (entry) -> (SpriteAtlasManager.AtlasPreparation)((CompletableFuture)entry.getValue()).join())), (ModelLoader)completableFuture3.join()), prepareExecutor).thenCompose((result) -> result.readyForUpload.thenApply((void_) -> result));
       Objects.requireNonNull(synchronizer);
       return var10000.thenCompose(synchronizer::whenPrepared).thenAcceptAsync((result) -> this.upload(result, applyProfiler), applyExecutor);
    }
@@ -167,10 +170,10 @@ public class BakedModelManager implements ResourceReloader, AutoCloseable, Fabri
       });
    }
 
-   private BakingResult bake(Profiler profiler, Map preparations, ModelLoader modelLoader) {
+   private BakingResult bake(Profiler profiler, Executor executor, Map preparations, ModelLoader modelLoader) {
       profiler.push("load");
       profiler.swap("baking");
-      Multimap<ModelIdentifier, SpriteIdentifier> multimap = HashMultimap.create();
+      Multimap<ModelIdentifier, SpriteIdentifier> multimap = Multimaps.synchronizedSetMultimap(HashMultimap.create());
       modelLoader.bake((modelIdentifier, spriteId) -> {
          SpriteAtlasManager.AtlasPreparation atlasPreparation = (SpriteAtlasManager.AtlasPreparation)preparations.get(spriteId.getAtlasId());
          Sprite sprite = atlasPreparation.getSprite(spriteId.getTextureId());
@@ -180,7 +183,8 @@ public class BakedModelManager implements ResourceReloader, AutoCloseable, Fabri
             multimap.put(modelIdentifier, spriteId);
             return atlasPreparation.getMissingSprite();
          }
-      });
+      }, executor);
+      profiler.swap("missing_textures");
       multimap.asMap().forEach((modelIdentifier, spriteIds) -> LOGGER.warn("Missing textures in model {}:\n{}", modelIdentifier, spriteIds.stream().sorted(SpriteIdentifier.COMPARATOR).map((spriteIdentifier) -> {
             String var10000 = String.valueOf(spriteIdentifier.getAtlasId());
             return "    " + var10000 + ":" + String.valueOf(spriteIdentifier.getTextureId());
@@ -12,6 +12,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -52,6 +56,7 @@ public class ModelLoader {
    public static final List BLOCK_DESTRUCTION_STAGE_TEXTURES;
    public static final List BLOCK_DESTRUCTION_RENDER_LAYERS;
    private static final Logger LOGGER;
+   private static final boolean PARALLEL_BAKING = Boolean.parseBoolean(System.getProperty("ModelLoader.parallelBaking", "true"));
    private static final String BUILTIN = "builtin/";
    private static final String BUILTIN_GENERATED = "builtin/generated";
    private static final String BUILTIN_ENTITY = "builtin/entity";
@@ -67,8 +72,8 @@ public class ModelLoader {
    static final ItemModelGenerator ITEM_MODEL_GENERATOR;
    private final Map jsonUnbakedModels;
    private final Set modelsToLoad = new HashSet();
-   private final Map unbakedModels = new HashMap();
-   final Map bakedModelCache = new HashMap();
+   private final Map unbakedModels = new ConcurrentHashMap();
+   final Map bakedModelCache = new ConcurrentHashMap();
    private final Map modelsToBake = new HashMap();
    private final Map bakedModels = new HashMap();
    private final UnbakedModel missingModel;
@@ -98,28 +103,61 @@ public class ModelLoader {
       profiler.swap("special");
       this.loadItemModel(ItemRenderer.TRIDENT_IN_HAND);
       this.loadItemModel(ItemRenderer.SPYGLASS_IN_HAND);
+      profiler.swap("parents");
       this.modelsToBake.values().forEach((model) -> model.setParents(this::getOrLoadModel));
       profiler.pop();
    }
 
    public void bake(SpriteGetter spliteGetter) {
-      this.modelsToBake.forEach((id, model) -> {
-         BakedModel bakedModel = null;
+      this.bake(spliteGetter, Runnable::run);
+   }
 
-         try {
-            bakedModel = (new BakerImpl(spliteGetter, id)).bake((UnbakedModel)model, ModelRotation.X0_Y0);
-         } catch (Exception exception) {
-            LOGGER.warn("Unable to bake model: '{}': {}", id, exception);
+   public void bake(SpriteGetter spriteGetter, Executor executor) {
+      List<Map.Entry<ModelIdentifier, UnbakedModel>> list = List.copyOf(this.modelsToBake.entrySet());
+      BakedModel[] bakedModels = new BakedModel[list.size()];
+      AtomicInteger atomicInteger = new AtomicInteger();
+      Runnable runnable = () -> {
+         int i;
+         while((i = atomicInteger.getAndIncrement()) < list.size()) {
+            Map.Entry<ModelIdentifier, UnbakedModel> entry = (Map.Entry)list.get(i);
+            bakedModels[i] = this.bake(spriteGetter, (ModelIdentifier)entry.getKey(), (UnbakedModel)entry.getValue());
          }
 
-         if (bakedModel != null) {
-            this.bakedModels.put(id, bakedModel);
+      };
+      int i = PARALLEL_BAKING ? Math.min(list.size(), Runtime.getRuntime().availableProcessors()) : 1;
+      CompletableFuture<?>[] completableFutures = new CompletableFuture[Math.max(0, i - 1)];
+
+      for(int j = 0; j < completableFutures.length; ++j) {
+         completableFutures[j] = CompletableFuture.runAsync(runnable, executor);
+      }
+
+      runnable.run();
+      CompletableFuture.allOf(completableFutures).join();
+
+      for(int j = 0; j < bakedModels.length; ++j) {
+         if (bakedModels[j] != null) {
+            this.bakedModels.put(((Map.Entry)list.get(j)).getKey(), bakedModels[j]);
          }
+      }
 
-      });
+   }
+
+   @Nullable
+   private BakedModel bake(SpriteGetter spriteGetter, ModelIdentifier id, UnbakedModel model) {
+      try {
+         return (new BakerImpl(spriteGetter, id)).bake(model, ModelRotation.X0_Y0);
+      } catch (Exception exception) {
+         LOGGER.warn("Unable to bake model: '{}': {}", id, exception);
+         return null;
+      }
    }
 
    UnbakedModel getOrLoadModel(Identifier id) {
+      UnbakedModel unbakedModel = (UnbakedModel)this.unbakedModels.get(id);
+      return unbakedModel != null ? unbakedModel : this.loadModel(id);
+   }
+
+   private synchronized UnbakedModel loadModel(Identifier id) {
       if (this.unbakedModels.containsKey(id)) {
          return (UnbakedModel)this.unbakedModels.get(id);
       } else if (this.modelsToLoad.contains(id)) {
@@ -253,8 +291,12 @@ public class ModelLoader {
          } else {
             UnbakedModel unbakedModel = this.getOrLoadModel(id);
             BakedModel bakedModel2 = this.bake(unbakedModel, settings);
-            ModelLoader.this.bakedModelCache.put(bakedModelCacheKey, bakedModel2);
-            return bakedModel2;
+            if (bakedModel2 == null) {
+               return null;
+            } else {
+               BakedModel bakedModel3 = (BakedModel)ModelLoader.this.bakedModelCache.putIfAbsent(bakedModelCacheKey, bakedModel2);
+               return bakedModel3 != null ? bakedModel3 : bakedModel2;
+            }
          }
       }
 
@@ -1,5 +1,6 @@
 package net.minecraft.client.render.model;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -17,8 +18,11 @@ import org.jetbrains.annotations.Nullable;
 @Environment(EnvType.CLIENT)
 public class SpriteAtlasManager implements AutoCloseable {
    private final Map atlases;
+   @Nullable
+   private final Path cacheDirectory;
 
-   public SpriteAtlasManager(Map loaders, TextureManager textureManager) {
+   public SpriteAtlasManager(Map loaders, TextureManager textureManager, @Nullable Path cacheDirectory) {
+      this.cacheDirectory = cacheDirectory;
       this.atlases = (Map)loaders.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, (entry) -> {
          SpriteAtlasTexture spriteAtlasTexture = new SpriteAtlasTexture((Identifier)entry.getKey());
          textureManager.registerTexture((Identifier)entry.getKey(), spriteAtlasTexture);
@@ -38,7 +42,7 @@ public class SpriteAtlasManager implements AutoCloseable {
    public Map reload(ResourceManager resourceManager, int mipmapLevels, Executor executor) {
       return (Map)this.atlases.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, (entry) -> {
          Atlas atlas = (Atlas)entry.getValue();
-         return SpriteLoader.fromAtlas(atlas.atlas).load(resourceManager, atlas.atlasInfoLocation, mipmapLevels, executor).thenApply((stitchResult) -> new AtlasPreparation(atlas.atlas, stitchResult));
+         return SpriteLoader.fromAtlas(atlas.atlas, this.cacheDirectory).load(resourceManager, atlas.atlasInfoLocation, mipmapLevels, executor).thenApply((stitchResult) -> new AtlasPreparation(atlas.atlas, stitchResult));
       }));
    }
 
@@ -3,13 +3,11 @@ package net.minecraft.client.search;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.mojang.logging.LogUtils;
-import it.unimi.dsi.fastutil.Arrays;
-import it.unimi.dsi.fastutil.Swapper;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -23,12 +21,16 @@ public class SuffixArray {
    private static final boolean PRINT_ARRAY = Boolean.parseBoolean(System.getProperty("SuffixArray.printArray", "false"));
    private static final Logger LOGGER = LogUtils.getLogger();
    private static final int field_33013 = -1;
-   private static final int field_33014 = -2;
+   private static final int ALPHABET_SIZE = 65536;
+   private static final int NAIVE_SORT_THRESHOLD = 10;
    protected final List objects = Lists.newArrayList();
    private final IntList characters = new IntArrayList();
    private final IntList textStarts = new IntArrayList();
-   private IntList suffixIndexToObjectIndex = new IntArrayList();
-   private IntList offsetInText = new IntArrayList();
+   private final IntList objectIndices = new IntArrayList();
+   private int[] corpus = IntArrays.EMPTY_ARRAY;
+   private int[] corpusObjectIndices = IntArrays.EMPTY_ARRAY;
+   private int[] suffixes = IntArrays.EMPTY_ARRAY;
+   private int[] longestCommonPrefixes = IntArrays.EMPTY_ARRAY;
    private int maxTextLength;
 
    public void add(Object object, String text) {
@@ -38,80 +40,228 @@ public class SuffixArray {
       this.textStarts.add(this.characters.size());
 
       for(int j = 0; j < text.length(); ++j) {
-         this.suffixIndexToObjectIndex.add(i);
-         this.offsetInText.add(j);
+         this.objectIndices.add(i);
          this.characters.add(text.charAt(j));
       }
 
-      this.suffixIndexToObjectIndex.add(i);
-      this.offsetInText.add(text.length());
+      this.objectIndices.add(i);
       this.characters.add(-1);
    }
 
    public void build() {
-      int i = this.characters.size();
+      this.corpus = this.characters.toIntArray();
+      this.corpusObjectIndices = this.objectIndices.toIntArray();
+      int i = this.corpus.length;
       int[] is = new int[i];
-      int[] js = new int[i];
-      int[] ks = new int[i];
-      int[] ls = new int[i];
-      IntComparator intComparator = (a, b) -> js[a] == js[b] ? Integer.compare(ks[a], ks[b]) : Integer.compare(js[a], js[b]);
-      Swapper swapper = (ix, jx) -> {
-         if (ix != jx) {
-            int k = js[ix];
-            js[ix] = js[jx];
-            js[jx] = k;
-            k = ks[ix];
-            ks[ix] = ks[jx];
-            ks[jx] = k;
-            k = ls[ix];
-            ls[ix] = ls[jx];
-            ls[jx] = k;
-         }
-
-      };
 
       for(int j = 0; j < i; ++j) {
-         is[j] = this.characters.getInt(j);
+         is[j] = this.corpus[j] + 1;
+      }
+
+      this.suffixes = buildSuffixArray(is, 65536);
+      this.longestCommonPrefixes = buildLongestCommonPrefixes(this.corpus, this.suffixes);
+      if (PRINT_ARRAY) {
+         this.printArray();
       }
 
-      int j = 1;
+   }
+
+   private static int[] buildSuffixArray(int[] string, int upper) {
+      int i = string.length;
+      if (i == 0) {
+         return IntArrays.EMPTY_ARRAY;
+      } else if (i < 10) {
+         return buildSuffixArrayNaive(string);
+      } else {
+         int[] is = new int[i];
+         boolean[] bls = new boolean[i];
 
-      for(int k = Math.min(i, this.maxTextLength); j * 2 < k; j *= 2) {
-         for(int l = 0; l < i; ls[l] = l++) {
-            js[l] = is[l];
-            ks[l] = l + j < i ? is[l + j] : -2;
+         for(int j = i - 2; j >= 0; --j) {
+            bls[j] = string[j] == string[j + 1] ? bls[j + 1] : string[j] < string[j + 1];
          }
 
-         Arrays.quickSort(0, i, intComparator, swapper);
+         int[] js = new int[upper + 1];
+         int[] ks = new int[upper + 1];
 
-         for(int l = 0; l < i; ++l) {
-            if (l > 0 && js[l] == js[l - 1] && ks[l] == ks[l - 1]) {
-               is[ls[l]] = is[ls[l - 1]];
+         for(int j = 0; j < i; ++j) {
+            if (!bls[j]) {
+               ++ks[string[j]];
             } else {
-               is[ls[l]] = l;
+               ++js[string[j] + 1];
+            }
+         }
+
+         for(int j = 0; j <= upper; ++j) {
+            ks[j] += js[j];
+            if (j < upper) {
+               js[j + 1] += ks[j];
+            }
+         }
+
+         int[] ls = new int[i + 1];
+         Arrays.fill(ls, -1);
+         int k = 0;
+
+         for(int j = 1; j < i; ++j) {
+            if (!bls[j - 1] && bls[j]) {
+               ls[j] = k++;
             }
          }
+
+         int[] ms = new int[k];
+         int l = 0;
+
+         for(int j = 1; j < i; ++j) {
+            if (!bls[j - 1] && bls[j]) {
+               ms[l++] = j;
+            }
+         }
+
+         induceSort(string, is, bls, js, ks, ms, upper);
+         if (k > 0) {
+            int[] ns = new int[k];
+            l = 0;
+
+            for(int j = 0; j < i; ++j) {
+               if (ls[is[j]] != -1) {
+                  ns[l++] = is[j];
+               }
+            }
+
+            int[] os = new int[k];
+            int m = 0;
+            os[ls[ns[0]]] = 0;
+
+            for(int j = 1; j < k; ++j) {
+               int n = ns[j - 1];
+               int o = ns[j];
+               int p = ls[n] + 1 < k ? ms[ls[n] + 1] : i;
+               int q = ls[o] + 1 < k ? ms[ls[o] + 1] : i;
+               boolean bl = true;
+               if (p - n != q - o) {
+                  bl = false;
+               } else {
+                  while(n < p && string[n] == string[o]) {
+                     ++n;
+                     ++o;
+                  }
+
+                  if (n == i || string[n] != string[o]) {
+                     bl = false;
+                  }
+               }
+
+               if (!bl) {
+                  ++m;
+               }
+
+               os[ls[ns[j]]] = m;
+            }
+
+            int[] ps = buildSuffixArray(os, m);
+
+            for(int j = 0; j < k; ++j) {
+               ns[j] = ms[ps[j]];
+            }
+
+            induceSort(string, is, bls, js, ks, ns, upper);
+         }
+
+         return is;
       }
+   }
 
-      IntList intList = this.suffixIndexToObjectIndex;
-      IntList intList2 = this.offsetInText;
-      this.suffixIndexToObjectIndex = new IntArrayList(intList.size());
-      this.offsetInText = new IntArrayList(intList2.size());
+   private static void induceSort(int[] string, int[] suffixes, boolean[] types, int[] lBuckets, int[] sBuckets, int[] lms, int upper) {
+      int i = string.length;
+      Arrays.fill(suffixes, -1);
+      int[] is = Arrays.copyOf(sBuckets, upper + 1);
 
-      for(int m = 0; m < i; ++m) {
-         int n = ls[m];
-         this.suffixIndexToObjectIndex.add(intList.getInt(n));
-         this.offsetInText.add(intList2.getInt(n));
+      for(int j : lms) {
+         if (j != i) {
+            suffixes[is[string[j]]++] = j;
+         }
       }
 
-      if (PRINT_ARRAY) {
-         this.printArray();
+      System.arraycopy(lBuckets, 0, is, 0, upper + 1);
+      suffixes[is[string[i - 1]]++] = i - 1;
+
+      for(int j = 0; j < i; ++j) {
+         int k = suffixes[j];
+         if (k >= 1 && !types[k - 1]) {
+            suffixes[is[string[k - 1]]++] = k - 1;
+         }
+      }
+
+      System.arraycopy(lBuckets, 0, is, 0, upper + 1);
+
+      for(int j = i - 1; j >= 0; --j) {
+         int k = suffixes[j];
+         if (k >= 1 && types[k - 1]) {
+            suffixes[--is[string[k - 1] + 1]] = k - 1;
+         }
+      }
+
+   }
+
+   private static int[] buildSuffixArrayNaive(int[] string) {
+      int i = string.length;
+      int[] is = new int[i];
+
+      for(int j = 0; j < i; is[j] = j++) {
       }
 
+      IntArrays.quickSort(is, (a, b) -> {
+         if (a == b) {
+            return 0;
+         } else {
+            while(a < i && b < i) {
+               if (string[a] != string[b]) {
+                  return Integer.compare(string[a], string[b]);
+               }
+
+               ++a;
+               ++b;
+            }
+
+            return a == i ? -1 : 1;
+         }
+      });
+      return is;
+   }
+
+   private static int[] buildLongestCommonPrefixes(int[] corpus, int[] suffixes) {
+      int i = corpus.length;
+      int[] is = new int[i];
+      int[] js = new int[i];
+
+      for(int j = 0; j < i; ++j) {
+         is[suffixes[j]] = j;
+      }
+
+      int j = 0;
+
+      for(int k = 0; k < i; ++k) {
+         if (is[k] == 0) {
+            j = 0;
+         } else {
+            int l = suffixes[is[k] - 1];
+
+            while(k + j < i && l + j < i && corpus[k + j] == corpus[l + j] && corpus[k + j] != -1) {
+               ++j;
+            }
+
+            js[is[k]] = j;
+            if (j > 0) {
+               --j;
+            }
+         }
+      }
+
+      return js;
    }
 
    private void printArray() {
-      for(int i = 0; i < this.suffixIndexToObjectIndex.size(); ++i) {
+      for(int i = 0; i < this.suffixes.length; ++i) {
          LOGGER.debug("{} {}", i, this.getDebugString(i));
       }
 
@@ -119,16 +269,16 @@ public class SuffixArray {
    }
 
    private String getDebugString(int suffixIndex) {
-      int i = this.offsetInText.getInt(suffixIndex);
-      int j = this.textStarts.getInt(this.suffixIndexToObjectIndex.getInt(suffixIndex));
+      int i = this.suffixes[suffixIndex];
+      int j = this.textStarts.getInt(this.corpusObjectIndices[i]);
       StringBuilder stringBuilder = new StringBuilder();
 
-      for(int k = 0; j + k < this.characters.size(); ++k) {
+      for(int k = j; k < this.corpus.length; ++k) {
          if (k == i) {
             stringBuilder.append('^');
          }
 
-         int l = this.characters.getInt(j + k);
+         int l = this.corpus[k];
          if (l == -1) {
             break;
          }
@@ -140,17 +290,17 @@ public class SuffixArray {
    }
 
    private int compare(String string, int suffixIndex) {
-      int i = this.textStarts.getInt(this.suffixIndexToObjectIndex.getInt(suffixIndex));
-      int j = this.offsetInText.getInt(suffixIndex);
+      int[] is = this.corpus;
+      int i = this.suffixes[suffixIndex];
 
-      for(int k = 0; k < string.length(); ++k) {
-         int l = this.characters.getInt(i + j + k);
-         if (l == -1) {
+      for(int j = 0; j < string.length(); ++j) {
+         int k = is[i + j];
+         if (k == -1) {
             return 1;
          }
 
-         char c = string.charAt(k);
-         char d = (char)l;
+         char c = string.charAt(j);
+         char d = (char)k;
          if (c < d) {
             return -1;
          }
@@ -164,7 +314,7 @@ public class SuffixArray {
    }
 
    public List findAll(String text) {
-      int i = this.suffixIndexToObjectIndex.size();
+      int i = this.suffixes.length;
       int j = 0;
       int k = i;
 
@@ -182,37 +332,19 @@ public class SuffixArray {
          }
       }
 
-      if (j >= 0 && j < i) {
-         int l = j;
-         k = i;
-
-         while(j < k) {
-            int m = j + (k - j) / 2;
-            int n = this.compare(text, m);
-            if (PRINT_COMPARISONS) {
-               LOGGER.debug("comparing upper \"{}\" with {} \"{}\": {}", new Object[]{text, m, this.getDebugString(m), n});
-            }
-
-            if (n >= 0) {
-               j = m + 1;
-            } else {
-               k = m;
-            }
-         }
-
-         int m = j;
-         IntSet intSet = new IntOpenHashSet();
+      if (j < i && this.compare(text, j) == 0) {
+         int l = text.length();
+         BitSet bitSet = new BitSet(this.objects.size());
+         bitSet.set(this.corpusObjectIndices[this.suffixes[j]]);
 
-         for(int o = l; o < m; ++o) {
-            intSet.add(this.suffixIndexToObjectIndex.getInt(o));
+         for(int m = j + 1; m < i && this.longestCommonPrefixes[m] >= l; ++m) {
+            bitSet.set(this.corpusObjectIndices[this.suffixes[m]]);
          }
 
-         int[] is = intSet.toIntArray();
-         java.util.Arrays.sort(is);
          Set<T> set = Sets.newLinkedHashSet();
 
-         for(int p : is) {
-            set.add(this.objects.get(p));
+         for(int m = bitSet.nextSetBit(0); m >= 0; m = bitSet.nextSetBit(m + 1)) {
+            set.add(this.objects.get(m));
          }
 
          return Lists.newArrayList(set);
@@ -12,6 +12,10 @@ public interface BufferedAudioStream extends NonRepeatingAudioStream {
 
    boolean read(FloatConsumer consumer) throws IOException;
 
+   default boolean read(ChannelList channelList) throws IOException {
+      return this.read((FloatConsumer)channelList);
+   }
+
    default ByteBuffer read(int size) throws IOException {
       ChannelList channelList = new ChannelList(size + 8192);
 
@@ -24,8 +24,16 @@ public class Channel {
    }
 
    public CompletableFuture createSource(SoundEngine.RunMode mode) {
+      return this.createSource(mode, (SourceManager)null);
+   }
+
+   public CompletableFuture createSource(SoundEngine.RunMode mode, @Nullable SourceManager victim) {
       CompletableFuture<SourceManager> completableFuture = new CompletableFuture();
       this.executor.execute(() -> {
+         if (victim != null && victim.source != null && this.sources.remove(victim)) {
+            victim.close();
+         }
+
          Source source = this.soundEngine.createSource(mode);
          if (source != null) {
             SourceManager sourceManager = new SourceManager(source);
@@ -43,6 +51,24 @@ public class Channel {
       this.executor.execute(() -> sourcesConsumer.accept(this.sources.stream().map((source) -> source.source).filter(Objects::nonNull)));
    }
 
+   public void submit(Runnable task) {
+      this.executor.execute(task);
+   }
+
+   public void update(SourceManager[] sourceManagers, float[] values, double[] positions, int count) {
+      this.executor.execute(() -> {
+         for(int i = 0; i < count; ++i) {
+            Source source = sourceManagers[i].source;
+            if (source != null) {
+               source.setVolume(values[i * 2]);
+               source.setPitch(values[i * 2 + 1]);
+               source.setPosition(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]);
+            }
+         }
+
+      });
+   }
+
    public void tick() {
       this.executor.execute(() -> {
          Iterator<SourceManager> iterator = this.sources.iterator();
@@ -87,6 +113,17 @@ public class Channel {
          });
       }
 
+      public void run(Consumer action, Runnable onClosed) {
+         Channel.this.executor.execute(() -> {
+            if (this.source != null) {
+               action.accept(this.source);
+            } else {
+               onClosed.run();
+            }
+
+         });
+      }
+
       public void close() {
          this.stopped = true;
          Channel.this.soundEngine.release(this.source);
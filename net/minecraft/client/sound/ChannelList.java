@@ -29,11 +29,53 @@ public class ChannelList implements FloatConsumer {
          this.buffer = BufferUtils.createByteBuffer(this.size);
       }
 
-      int i = MathHelper.clamp((int)(value * 32767.5F - 0.5F), -32768, 32767);
-      this.buffer.putShort((short)i);
+      this.buffer.putShort(toPcm16(value));
       this.currentBufferSize += 2;
    }
 
+   public void accept(float[][] samples, int[] offsets, int channels, int frames) {
+      int i = frames * channels;
+      int j = 0;
+
+      while(j < i) {
+         if (this.buffer.remaining() < 2) {
+            this.buffer.flip();
+            this.buffers.add(this.buffer);
+            this.buffer = BufferUtils.createByteBuffer(this.size);
+         }
+
+         int k = Math.min(i - j, this.buffer.remaining() / 2);
+         ByteBuffer byteBuffer = this.buffer;
+         if (channels == 1) {
+            float[] fs = samples[0];
+            int l = offsets[0] + j;
+
+            for(int m = 0; m < k; ++m) {
+               byteBuffer.putShort(toPcm16(fs[l + m]));
+            }
+         } else {
+            int l = j / channels;
+            int m = j - l * channels;
+
+            for(int n = 0; n < k; ++n) {
+               byteBuffer.putShort(toPcm16(samples[m][offsets[m] + l]));
+               if (++m == channels) {
+                  m = 0;
+                  ++l;
+               }
+            }
+         }
+
+         j += k;
+      }
+
+      this.currentBufferSize += i * 2;
+   }
+
+   private static short toPcm16(float value) {
+      return (short)MathHelper.clamp((int)(value * 32767.5F - 0.5F), -32768, 32767);
+   }
+
    public ByteBuffer getBuffer() {
       this.buffer.flip();
       if (this.buffers.isEmpty()) {
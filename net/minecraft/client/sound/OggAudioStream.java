@@ -34,6 +34,8 @@ public class OggAudioStream implements BufferedAudioStream {
    private final Block block;
    private final AudioFormat format;
    private final InputStream inputStream;
+   private final float[][][] pcm = new float[1][][];
+   private final int[] pcmOffsets;
    private long field_51456;
    private long field_51457;
 
@@ -64,6 +66,7 @@ public class OggAudioStream implements BufferedAudioStream {
             this.dspState.synthesis_init(this.info);
             this.block.init(this.dspState);
             this.format = new AudioFormat((float)this.info.rate, 16, this.info.channels, true, false);
+            this.pcmOffsets = new int[this.info.channels];
          }
       }
    }
@@ -167,9 +170,7 @@ public class OggAudioStream implements BufferedAudioStream {
       return m;
    }
 
-   public boolean read(FloatConsumer consumer) throws IOException {
-      float[][][] fs = new float[1][][];
-      int[] is = new int[this.info.channels];
+   private boolean readBlock() throws IOException {
       Packet packet = this.readPacket();
       if (packet == null) {
          return false;
@@ -177,7 +178,16 @@ public class OggAudioStream implements BufferedAudioStream {
          throw new IOException("Can't decode audio packet");
       } else {
          this.dspState.synthesis_blockin(this.block);
+         return true;
+      }
+   }
 
+   public boolean read(FloatConsumer consumer) throws IOException {
+      float[][][] fs = this.pcm;
+      int[] is = this.pcmOffsets;
+      if (!this.readBlock()) {
+         return false;
+      } else {
          int i;
          for(; (i = this.dspState.synthesis_pcmout(fs, is)) > 0; this.dspState.synthesis_read(i)) {
             float[][] gs = fs[0];
@@ -198,6 +208,24 @@ public class OggAudioStream implements BufferedAudioStream {
       }
    }
 
+   public boolean read(ChannelList channelList) throws IOException {
+      float[][][] fs = this.pcm;
+      int[] is = this.pcmOffsets;
+      if (!this.readBlock()) {
+         return false;
+      } else {
+         int i;
+         for(; (i = this.dspState.synthesis_pcmout(fs, is)) > 0; this.dspState.synthesis_read(i)) {
+            long l = this.method_59765(i);
+            if (l > 0L) {
+               channelList.accept(fs[0], is, this.info.channels, (int)l);
+            }
+         }
+
+         return true;
+      }
+   }
+
    private static void method_59762(float[][] fs, int i, int[] is, long l, FloatConsumer floatConsumer) {
       for(int j = 0; (long)j < l; ++j) {
          for(int k = 0; k < i; ++k) {
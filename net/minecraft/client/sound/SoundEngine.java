@@ -290,6 +290,11 @@ public class SoundEngine {
       return (mode == SoundEngine.RunMode.STREAMING ? this.staticSources : this.streamingSources).createSource();
    }
 
+   public int getFreeSourceCount(RunMode mode) {
+      SourceSet sourceSet = mode == SoundEngine.RunMode.STREAMING ? this.staticSources : this.streamingSources;
+      return sourceSet.getMaxSourceCount() - sourceSet.getSourceCount();
+   }
+
    public void release(Source source) {
       if (!this.streamingSources.release(source) && !this.staticSources.release(source)) {
          throw new IllegalStateException("Tried to release unknown channel");
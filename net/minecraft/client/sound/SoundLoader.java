@@ -1,11 +1,15 @@
 package net.minecraft.client.sound;
 
-import com.google.common.collect.Maps;
 import java.io.IOException;
 import java.io.InputStream;
+import com.google.common.collect.Queues;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import net.fabricmc.api.EnvType;
@@ -13,60 +17,134 @@ import net.fabricmc.api.Environment;
 import net.minecraft.resource.ResourceFactory;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
 
 @Environment(EnvType.CLIENT)
 public class SoundLoader {
+   private static final long MAX_CACHE_BYTES = Long.getLong("SoundLoader.maxCacheBytes", 134217728L);
+   private static final int MAX_FREQUENCY = 8;
    private final ResourceFactory resourceFactory;
-   private final Map loadedSounds = Maps.newHashMap();
+   private final Map loadedSounds = new LinkedHashMap(256, 0.75F, true);
+   private final Queue evictedSounds = Queues.newConcurrentLinkedQueue();
+   private long cachedBytes;
+   private long hits;
+   private long misses;
+   private long evictions;
 
    public SoundLoader(ResourceFactory resourceFactory) {
       this.resourceFactory = resourceFactory;
    }
 
    public CompletableFuture loadStatic(Identifier id) {
-      return (CompletableFuture)this.loadedSounds.computeIfAbsent(id, (id2) -> CompletableFuture.supplyAsync(() -> {
-            try {
-               InputStream inputStream = this.resourceFactory.open(id2);
+      return this.loadStatic(id, true);
+   }
 
-               StaticSound var5;
-               try {
-                  NonRepeatingAudioStream nonRepeatingAudioStream = new OggAudioStream(inputStream);
+   private CompletableFuture loadStatic(Identifier id, boolean pin) {
+      synchronized(this) {
+         CachedSound cachedSound = (CachedSound)this.loadedSounds.get(id);
+         if (cachedSound != null) {
+            ++this.hits;
+            cachedSound.frequency = Math.min(cachedSound.frequency + 1, 8);
+            if (!pin) {
+               return cachedSound.future;
+            } else if (cachedSound.sound != null) {
+               cachedSound.sound.pin();
+               return CompletableFuture.completedFuture(cachedSound.sound);
+            } else {
+               ++cachedSound.pendingPins;
+               return cachedSound.future;
+            }
+         } else {
+            ++this.misses;
+            CachedSound cachedSound2 = new CachedSound();
+            cachedSound2.pendingPins = pin ? 1 : 0;
+            cachedSound2.future = CompletableFuture.supplyAsync(() -> this.decode(id), Util.getDownloadWorkerExecutor()).thenApply((sound) -> this.onLoaded(cachedSound2, sound));
+            this.loadedSounds.put(id, cachedSound2);
+            return cachedSound2.future;
+         }
+      }
+   }
 
-                  try {
-                     ByteBuffer byteBuffer = nonRepeatingAudioStream.readAll();
-                     var5 = new StaticSound(byteBuffer, nonRepeatingAudioStream.getFormat());
-                  } catch (Throwable var8) {
-                     try {
-                        nonRepeatingAudioStream.close();
-                     } catch (Throwable var7) {
-                        var8.addSuppressed(var7);
-                     }
+   private StaticSound decode(Identifier id) {
+      try {
+         InputStream inputStream = this.resourceFactory.open(id);
 
-                     throw var8;
-                  }
+         StaticSound var5;
+         try {
+            NonRepeatingAudioStream nonRepeatingAudioStream = new OggAudioStream(inputStream);
 
+            try {
+               ByteBuffer byteBuffer = nonRepeatingAudioStream.readAll();
+               var5 = new StaticSound(byteBuffer, nonRepeatingAudioStream.getFormat());
+            } catch (Throwable var8) {
+               try {
                   nonRepeatingAudioStream.close();
-               } catch (Throwable var9) {
-                  if (inputStream != null) {
-                     try {
-                        inputStream.close();
-                     } catch (Throwable var6) {
-                        var9.addSuppressed(var6);
-                     }
-                  }
-
-                  throw var9;
+               } catch (Throwable var7) {
+                  var8.addSuppressed(var7);
                }
 
-               if (inputStream != null) {
+               throw var8;
+            }
+
+            nonRepeatingAudioStream.close();
+         } catch (Throwable var9) {
+            if (inputStream != null) {
+               try {
                   inputStream.close();
+               } catch (Throwable var6) {
+                  var9.addSuppressed(var6);
                }
+            }
+
+            throw var9;
+         }
+
+         if (inputStream != null) {
+            inputStream.close();
+         }
 
-               return var5;
-            } catch (IOException iOException) {
-               throw new CompletionException(iOException);
+         return var5;
+      } catch (IOException iOException) {
+         throw new CompletionException(iOException);
+      }
+   }
+
+   private synchronized StaticSound onLoaded(CachedSound cachedSound, StaticSound sound) {
+      for(int i = 0; i < cachedSound.pendingPins; ++i) {
+         sound.pin();
+      }
+
+      cachedSound.pendingPins = 0;
+      if (!cachedSound.removed) {
+         cachedSound.sound = sound;
+         this.cachedBytes += (long)sound.getSize();
+         this.trim();
+      }
+
+      return sound;
+   }
+
+   private void trim() {
+      for(int i = 0; i < 2 && this.cachedBytes > MAX_CACHE_BYTES; ++i) {
+         Iterator<CachedSound> iterator = this.loadedSounds.values().iterator();
+
+         while(iterator.hasNext() && this.cachedBytes > MAX_CACHE_BYTES) {
+            CachedSound cachedSound = (CachedSound)iterator.next();
+            StaticSound staticSound = cachedSound.sound;
+            if (staticSound != null && !staticSound.isPinned()) {
+               if (i == 0 && cachedSound.frequency > 1) {
+                  cachedSound.frequency >>= 1;
+               } else if (staticSound.tryEvict()) {
+                  this.evictedSounds.add(staticSound);
+                  iterator.remove();
+                  cachedSound.removed = true;
+                  this.cachedBytes -= (long)staticSound.getSize();
+                  ++this.evictions;
+               }
             }
-         }, Util.getDownloadWorkerExecutor()));
+         }
+      }
+
    }
 
    public CompletableFuture loadStreamed(Identifier id, boolean repeatInstantly) {
@@ -80,12 +158,39 @@ public class SoundLoader {
       }, Util.getDownloadWorkerExecutor());
    }
 
-   public void close() {
-      this.loadedSounds.values().forEach((soundFuture) -> soundFuture.thenAccept(StaticSound::close));
+   public void closeEvicted() {
+      StaticSound staticSound;
+      while((staticSound = (StaticSound)this.evictedSounds.poll()) != null) {
+         staticSound.close();
+      }
+
+   }
+
+   public synchronized void close() {
+      this.closeEvicted();
+      this.loadedSounds.values().forEach((cachedSound) -> {
+         cachedSound.removed = true;
+         cachedSound.future.thenAccept(StaticSound::close);
+      });
       this.loadedSounds.clear();
+      this.cachedBytes = 0L;
+   }
+
+   public synchronized String getDebugString() {
+      return String.format(Locale.ROOT, "Cache: %d/%d KB (%d hits, %d misses, %d evicted)", this.cachedBytes >> 10, MAX_CACHE_BYTES >> 10, this.hits, this.misses, this.evictions);
    }
 
    public CompletableFuture loadStatic(Collection sounds) {
-      return CompletableFuture.allOf((CompletableFuture[])sounds.stream().map((sound) -> this.loadStatic(sound.getLocation())).toArray((i) -> new CompletableFuture[i]));
+      return CompletableFuture.allOf((CompletableFuture[])sounds.stream().map((sound) -> this.loadStatic(sound.getLocation(), false)).toArray((i) -> new CompletableFuture[i]));
+   }
+
+   @Environment(EnvType.CLIENT)
+   static class CachedSound {
+      CompletableFuture future;
+      @Nullable
+      StaticSound sound;
+      int pendingPins;
+      int frequency = 1;
+      boolean removed;
    }
 }
@@ -9,6 +9,7 @@ import com.mojang.logging.LogUtils;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -37,6 +38,7 @@ import org.slf4j.MarkerFactory;
 public class SoundSystem {
    private static final Marker MARKER = MarkerFactory.getMarker("SOUNDS");
    private static final Logger LOGGER = LogUtils.getLogger();
+   private static final boolean VIRTUAL_VOICES = Boolean.parseBoolean(System.getProperty("SoundSystem.virtualVoices", "true"));
    private static final float MIN_PITCH = 0.5F;
    private static final float MAX_PITCH = 2.0F;
    private static final float MIN_VOLUME = 0.0F;
@@ -66,6 +68,8 @@ public class SoundSystem {
    private final List listeners;
    private final List soundsToPlayNextTick;
    private final List preloadedSounds;
+   private final Set virtualSounds;
+   private int stolenSources;
 
    public SoundSystem(SoundManager loader, GameOptions settings, ResourceFactory resourceFactory) {
       this.listener = this.soundEngine.getListener();
@@ -80,6 +84,7 @@ public class SoundSystem {
       this.listeners = Lists.newArrayList();
       this.soundsToPlayNextTick = Lists.newArrayList();
       this.preloadedSounds = Lists.newArrayList();
+      this.virtualSounds = Sets.newLinkedHashSet();
       this.loader = loader;
       this.settings = settings;
       this.soundLoader = new SoundLoader(resourceFactory);
@@ -169,6 +174,8 @@ public class SoundSystem {
          if (sourceManager != null) {
             sourceManager.run(Source::stop);
          }
+
+         this.virtualSounds.remove(sound);
       }
 
    }
@@ -184,6 +191,7 @@ public class SoundSystem {
          this.sounds.clear();
          this.soundEndTicks.clear();
          this.soundsToPlayNextTick.clear();
+         this.virtualSounds.clear();
       }
 
    }
@@ -237,12 +245,17 @@ public class SoundSystem {
       }
 
       this.channel.tick();
+      this.channel.submit(this.soundLoader::closeEvicted);
    }
 
    private void tick() {
       ++this.ticks;
       this.soundsToPlayNextTick.stream().filter(SoundInstance::canPlay).forEach(this::play);
       this.soundsToPlayNextTick.clear();
+      Channel.SourceManager[] sourceManagers = null;
+      float[] fs = null;
+      double[] ds = null;
+      int i = 0;
 
       for(TickableSoundInstance tickableSoundInstance : this.tickingSounds) {
          if (!tickableSoundInstance.canPlay()) {
@@ -253,20 +266,30 @@ public class SoundSystem {
          if (tickableSoundInstance.isDone()) {
             this.stop(tickableSoundInstance);
          } else {
-            float f = this.getAdjustedVolume(tickableSoundInstance);
-            float g = this.getAdjustedPitch(tickableSoundInstance);
-            Vec3d vec3d = new Vec3d(tickableSoundInstance.getX(), tickableSoundInstance.getY(), tickableSoundInstance.getZ());
             Channel.SourceManager sourceManager = (Channel.SourceManager)this.sources.get(tickableSoundInstance);
             if (sourceManager != null) {
-               sourceManager.run((source) -> {
-                  source.setVolume(f);
-                  source.setPitch(g);
-                  source.setPosition(vec3d);
-               });
+               if (sourceManagers == null) {
+                  int j = this.tickingSounds.size();
+                  sourceManagers = new Channel.SourceManager[j];
+                  fs = new float[j * 2];
+                  ds = new double[j * 3];
+               }
+
+               sourceManagers[i] = sourceManager;
+               fs[i * 2] = this.getAdjustedVolume(tickableSoundInstance);
+               fs[i * 2 + 1] = this.getAdjustedPitch(tickableSoundInstance);
+               ds[i * 3] = tickableSoundInstance.getX();
+               ds[i * 3 + 1] = tickableSoundInstance.getY();
+               ds[i * 3 + 2] = tickableSoundInstance.getZ();
+               ++i;
             }
          }
       }
 
+      if (i > 0) {
+         this.channel.update(sourceManagers, fs, ds, i);
+      }
+
       Iterator<Map.Entry<SoundInstance, Channel.SourceManager>> iterator = this.sources.entrySet().iterator();
 
       while(iterator.hasNext()) {
@@ -278,8 +301,8 @@ public class SoundSystem {
             sourceManager2.run(Source::stop);
             iterator.remove();
          } else if (sourceManager2.isStopped()) {
-            int i = (Integer)this.soundEndTicks.get(soundInstance);
-            if (i <= this.ticks) {
+            int k = (Integer)this.soundEndTicks.get(soundInstance);
+            if (k <= this.ticks) {
                if (isRepeatDelayed(soundInstance)) {
                   this.startTicks.put(soundInstance, this.ticks + soundInstance.getRepeatDelay());
                }
@@ -315,6 +338,136 @@ public class SoundSystem {
          }
       }
 
+      if (!this.virtualSounds.isEmpty()) {
+         this.tickVirtualSounds();
+      }
+
+   }
+
+   private void tickVirtualSounds() {
+      int i = this.soundEngine.getFreeSourceCount(SoundEngine.RunMode.STATIC);
+      int j = this.soundEngine.getFreeSourceCount(SoundEngine.RunMode.STREAMING);
+      List<SoundInstance> list = null;
+      Iterator<SoundInstance> iterator = this.virtualSounds.iterator();
+
+      while(iterator.hasNext()) {
+         SoundInstance soundInstance = (SoundInstance)iterator.next();
+         if (soundInstance instanceof TickableSoundInstance) {
+            ((TickableSoundInstance)soundInstance).tick();
+         }
+
+         if (soundInstance.canPlay() && (!(soundInstance instanceof TickableSoundInstance) || !((TickableSoundInstance)soundInstance).isDone()) && !(this.settings.getSoundVolume(soundInstance.getCategory()) <= 0.0F)) {
+            if ((soundInstance.getSound().isStreamed() ? j : i) > 0) {
+               if (list == null) {
+                  list = Lists.newArrayList();
+               }
+
+               list.add(soundInstance);
+            }
+         } else {
+            iterator.remove();
+         }
+      }
+
+      if (list != null) {
+         list.sort((a, b) -> Float.compare(this.getAudibility((SoundInstance)b), this.getAudibility((SoundInstance)a)));
+
+         for(SoundInstance soundInstance : list) {
+            boolean bl = soundInstance.getSound().isStreamed();
+            if ((bl ? j : i) > 0) {
+               if (bl) {
+                  --j;
+               } else {
+                  --i;
+               }
+
+               this.virtualSounds.remove(soundInstance);
+               LOGGER.debug(MARKER, "Resuming virtual sound {}", soundInstance.getId());
+               this.play(soundInstance);
+            }
+         }
+      }
+
+   }
+
+   @Nullable
+   private Channel.SourceManager stealSource(SoundInstance sound, SoundEngine.RunMode mode) {
+      float f = this.getAudibility(sound);
+      boolean bl = mode == SoundEngine.RunMode.STREAMING;
+      SoundInstance soundInstance = null;
+      Channel.SourceManager sourceManager = null;
+
+      for(Map.Entry<SoundInstance, Channel.SourceManager> entry : this.sources.entrySet()) {
+         Channel.SourceManager sourceManager2 = (Channel.SourceManager)entry.getValue();
+         SoundInstance soundInstance2 = (SoundInstance)entry.getKey();
+         if (!sourceManager2.isStopped() && soundInstance2.getSound().isStreamed() == bl) {
+            float g = this.getAudibility(soundInstance2);
+            if (g < f) {
+               f = g;
+               soundInstance = soundInstance2;
+               sourceManager = sourceManager2;
+            }
+         }
+      }
+
+      if (sourceManager == null) {
+         return null;
+      } else {
+         Channel.SourceManager sourceManager3 = (Channel.SourceManager)this.channel.createSource(mode, sourceManager).join();
+         if (sourceManager3 != null) {
+            LOGGER.debug(MARKER, "Stole channel {} from {} for {}", new Object[]{sourceManager, soundInstance.getId(), sound.getId()});
+            ++this.stolenSources;
+            this.sources.remove(soundInstance);
+            this.soundEndTicks.remove(soundInstance);
+            this.sounds.remove(soundInstance.getCategory(), soundInstance);
+            if (soundInstance instanceof TickableSoundInstance) {
+               this.tickingSounds.remove(soundInstance);
+            }
+
+            if (soundInstance.isRepeatable()) {
+               this.virtualSounds.add(soundInstance);
+            }
+         }
+
+         return sourceManager3;
+      }
+   }
+
+   private float getAudibility(SoundInstance sound) {
+      float f = this.getAdjustedVolume(sound) * getCategoryPriority(sound.getCategory());
+      if (!sound.isRelative() && sound.getAttenuationType() == SoundInstance.AttenuationType.LINEAR) {
+         float g = Math.max(sound.getVolume(), 1.0F) * (float)sound.getSound().getAttenuation();
+         Vec3d vec3d = this.listener.getTransform().position();
+         double d = sound.getX() - vec3d.x;
+         double e = sound.getY() - vec3d.y;
+         double h = sound.getZ() - vec3d.z;
+         f *= Math.max(0.0F, 1.0F - (float)Math.sqrt(d * d + e * e + h * h) / g);
+      }
+
+      return f;
+   }
+
+   private static float getCategoryPriority(SoundCategory category) {
+      float var10000;
+      switch (category) {
+         case RECORDS:
+         case BLOCKS:
+            var10000 = 0.8F;
+            break;
+         case NEUTRAL:
+            var10000 = 0.7F;
+            break;
+         case WEATHER:
+            var10000 = 0.6F;
+            break;
+         case AMBIENT:
+            var10000 = 0.5F;
+            break;
+         default:
+            var10000 = 1.0F;
+      }
+
+      return var10000;
    }
 
    private static boolean canRepeatInstantly(SoundInstance sound) {
@@ -333,7 +486,7 @@ public class SoundSystem {
       if (!this.started) {
          return false;
       } else {
-         return this.soundEndTicks.containsKey(sound) && (Integer)this.soundEndTicks.get(sound) <= this.ticks ? true : this.sources.containsKey(sound);
+         return this.soundEndTicks.containsKey(sound) && (Integer)this.soundEndTicks.get(sound) <= this.ticks ? true : this.sources.containsKey(sound) || this.virtualSounds.contains(sound);
       }
    }
 
@@ -380,10 +533,18 @@ public class SoundSystem {
                         } else {
                            boolean bl2 = shouldRepeatInstantly(sound);
                            boolean bl3 = sound2.isStreamed();
-                           CompletableFuture<Channel.SourceManager> completableFuture = this.channel.createSource(sound2.isStreamed() ? SoundEngine.RunMode.STREAMING : SoundEngine.RunMode.STATIC);
+                           SoundEngine.RunMode runMode = sound2.isStreamed() ? SoundEngine.RunMode.STREAMING : SoundEngine.RunMode.STATIC;
+                           CompletableFuture<Channel.SourceManager> completableFuture = this.channel.createSource(runMode);
                            Channel.SourceManager sourceManager = (Channel.SourceManager)completableFuture.join();
+                           if (sourceManager == null && VIRTUAL_VOICES) {
+                              sourceManager = this.stealSource(sound, runMode);
+                           }
+
                            if (sourceManager == null) {
-                              if (SharedConstants.isDevelopment) {
+                              if (VIRTUAL_VOICES && sound.isRepeatable()) {
+                                 LOGGER.debug(MARKER, "Virtualized sound {} for event {}", sound2.getIdentifier(), identifier);
+                                 this.virtualSounds.add(sound);
+                              } else if (SharedConstants.isDevelopment) {
                                  LOGGER.warn("Failed to create new sound handle");
                               }
 
@@ -409,7 +570,7 @@ public class SoundSystem {
                                  this.soundLoader.loadStatic(sound2.getLocation()).thenAccept((soundx) -> sourceManager.run((source) -> {
                                        source.setBuffer(soundx);
                                        source.play();
-                                    }));
+                                    }, soundx::unpin));
                               } else {
                                  this.soundLoader.loadStreamed(sound2.getLocation(), bl2).thenAccept((stream) -> sourceManager.run((source) -> {
                                        source.setStream(stream);
@@ -483,6 +644,8 @@ public class SoundSystem {
                this.stop(soundInstance);
             }
          }
+
+         this.virtualSounds.removeIf((sound) -> ((SoundInstance)sound).getCategory() == category && (id == null || ((SoundInstance)sound).getId().equals(id)));
       } else if (id == null) {
          this.stopAll();
       } else {
@@ -491,12 +654,15 @@ public class SoundSystem {
                this.stop(soundInstance);
             }
          }
+
+         this.virtualSounds.removeIf((sound) -> ((SoundInstance)sound).getId().equals(id));
       }
 
    }
 
    public String getDebugString() {
-      return this.soundEngine.getDebugString();
+      String var10000 = this.soundEngine.getDebugString();
+      return var10000 + ", " + this.soundLoader.getDebugString() + ", " + String.format(Locale.ROOT, "Virtual: %d (%d stolen)", this.virtualSounds.size(), this.stolenSources);
    }
 
    public List getSoundDevices() {
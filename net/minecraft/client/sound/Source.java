@@ -22,6 +22,8 @@ public class Source {
    private int bufferSize = 16384;
    @Nullable
    private AudioStream stream;
+   @Nullable
+   private StaticSound staticSound;
 
    @Nullable
    static Source create() {
@@ -51,6 +53,10 @@ public class Source {
 
          AL10.alDeleteSources(new int[]{this.pointer});
          AlUtil.checkErrors("Cleanup");
+         if (this.staticSound != null) {
+            this.staticSound.unpin();
+            this.staticSound = null;
+         }
       }
 
    }
@@ -97,6 +103,10 @@ public class Source {
       AL10.alSourcefv(this.pointer, 4100, new float[]{(float)pos.x, (float)pos.y, (float)pos.z});
    }
 
+   public void setPosition(double x, double y, double z) {
+      AL10.alSource3f(this.pointer, 4100, (float)x, (float)y, (float)z);
+   }
+
    public void setPitch(float pitch) {
       AL10.alSourcef(this.pointer, 4099, pitch);
    }
@@ -125,6 +135,11 @@ public class Source {
    }
 
    public void setBuffer(StaticSound sound) {
+      if (this.staticSound != null) {
+         this.staticSound.unpin();
+      }
+
+      this.staticSound = sound;
       sound.getStreamBufferPointer().ifPresent((pointer) -> AL10.alSourcei(this.pointer, 4105, pointer));
    }
 
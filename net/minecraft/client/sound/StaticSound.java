@@ -2,6 +2,7 @@ package net.minecraft.client.sound;
 
 import java.nio.ByteBuffer;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sound.sampled.AudioFormat;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -15,10 +16,41 @@ public class StaticSound {
    private final AudioFormat format;
    private boolean hasBuffer;
    private int streamBufferPointer;
+   private final int size;
+   private final AtomicInteger pins = new AtomicInteger();
 
    public StaticSound(ByteBuffer sample, AudioFormat format) {
       this.sample = sample;
       this.format = format;
+      this.size = sample.remaining();
+   }
+
+   public int getSize() {
+      return this.size;
+   }
+
+   boolean pin() {
+      int i;
+      do {
+         i = this.pins.get();
+         if (i < 0) {
+            return false;
+         }
+      } while(!this.pins.compareAndSet(i, i + 1));
+
+      return true;
+   }
+
+   void unpin() {
+      this.pins.decrementAndGet();
+   }
+
+   boolean isPinned() {
+      return this.pins.get() > 0;
+   }
+
+   boolean tryEvict() {
+      return this.pins.compareAndSet(0, -1);
    }
 
    OptionalInt getStreamBufferPointer() {
@@ -56,6 +88,7 @@ public class StaticSound {
       }
 
       this.hasBuffer = false;
+      this.sample = null;
    }
 
    public OptionalInt takeStreamBufferPointer() {
@@ -221,6 +221,11 @@ public final class NativeImage implements AutoCloseable {
       this.pointer = 0L;
    }
 
+   long getPointer() {
+      this.checkAllocated();
+      return this.pointer;
+   }
+
    public int getWidth() {
       return this.width;
    }
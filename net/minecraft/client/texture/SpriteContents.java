@@ -139,6 +139,10 @@ public class SpriteContents implements TextureStitcher.Stitchable, AutoCloseable
       return this.animation != null ? this.animation.getDistinctFrameCount() : IntStream.of(1);
    }
 
+   public boolean isAnimated() {
+      return this.animation != null;
+   }
+
    @Nullable
    public Animator createAnimator() {
       return this.animation != null ? this.animation.createAnimator() : null;
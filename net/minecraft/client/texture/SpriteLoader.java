@@ -1,7 +1,10 @@
 package net.minecraft.client.texture;
 
 import com.mojang.logging.LogUtils;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -24,29 +27,46 @@ import net.minecraft.util.crash.CrashException;
 import net.minecraft.util.crash.CrashReport;
 import net.minecraft.util.crash.CrashReportSection;
 import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 @Environment(EnvType.CLIENT)
 public class SpriteLoader {
    public static final Set METADATA_READERS;
    private static final Logger LOGGER;
+   public static final boolean PERSISTENT_CACHE = Boolean.parseBoolean(System.getProperty("SpriteLoader.persistentCache", "false"));
    private final Identifier id;
    private final int maxTextureSize;
    private final int width;
    private final int height;
+   @Nullable
+   private final Path cacheDirectory;
 
    public SpriteLoader(Identifier id, int maxTextureSize, int width, int height) {
+      this(id, maxTextureSize, width, height, (Path)null);
+   }
+
+   public SpriteLoader(Identifier id, int maxTextureSize, int width, int height, @Nullable Path cacheDirectory) {
       this.id = id;
       this.maxTextureSize = maxTextureSize;
       this.width = width;
       this.height = height;
+      this.cacheDirectory = cacheDirectory;
    }
 
    public static SpriteLoader fromAtlas(SpriteAtlasTexture atlasTexture) {
-      return new SpriteLoader(atlasTexture.getId(), atlasTexture.getMaxTextureSize(), atlasTexture.getWidth(), atlasTexture.getHeight());
+      return fromAtlas(atlasTexture, (Path)null);
+   }
+
+   public static SpriteLoader fromAtlas(SpriteAtlasTexture atlasTexture, @Nullable Path cacheDirectory) {
+      return new SpriteLoader(atlasTexture.getId(), atlasTexture.getMaxTextureSize(), atlasTexture.getWidth(), atlasTexture.getHeight(), cacheDirectory);
    }
 
    public StitchResult stitch(List sprites, int mipLevel, Executor executor) {
+      return this.stitch(sprites, mipLevel, executor, (StitchCache)null);
+   }
+
+   private StitchResult stitch(List sprites, int mipLevel, Executor executor, @Nullable StitchCache stitchCache) {
       int i = this.maxTextureSize;
       TextureStitcher<SpriteContents> textureStitcher = new TextureStitcher(i, i, mipLevel);
       int j = Integer.MAX_VALUE;
@@ -73,13 +93,33 @@ public class SpriteLoader {
          l = mipLevel;
       }
 
+      if (stitchCache != null) {
+         List<SpriteContents> list = sprites.stream().sorted(Comparator.comparing(SpriteContents::getId)).toList();
+         byte[] bs = stitchCache.computeKey(i, mipLevel, l, list);
+         StitchCache.Entry entry = stitchCache.read(bs, list, l);
+         if (entry != null) {
+            return this.createFromCache(list, entry, l);
+         } else {
+            StitchResult stitchResult = this.stitch(textureStitcher, l, executor);
+            CompletableFuture<Void> completableFuture = stitchResult.readyForUpload().thenAccept((void_) -> {
+               ByteBuffer byteBuffer = stitchCache.serialize(bs, list, stitchResult.regions(), textureStitcher.getWidth(), textureStitcher.getHeight(), l);
+               Util.getIoWorkerExecutor().execute(() -> stitchCache.write(byteBuffer));
+            });
+            return new StitchResult(stitchResult.width(), stitchResult.height(), l, stitchResult.missing(), stitchResult.regions(), completableFuture);
+         }
+      } else {
+         return this.stitch(textureStitcher, l, executor);
+      }
+   }
+
+   private StitchResult stitch(TextureStitcher textureStitcher, int mipLevel, Executor executor) {
       try {
          textureStitcher.stitch();
       } catch (TextureStitcherCannotFitException textureStitcherCannotFitException) {
          CrashReport crashReport = CrashReport.create(textureStitcherCannotFitException, "Stitching");
          CrashReportSection crashReportSection = crashReport.addElement("Stitcher");
          crashReportSection.add("Sprites", textureStitcherCannotFitException.getSprites().stream().map((spritex) -> String.format(Locale.ROOT, "%s[%dx%d]", spritex.getId(), spritex.getWidth(), spritex.getHeight())).collect(Collectors.joining(",")));
-         crashReportSection.add("Max Texture Size", i);
+         crashReportSection.add("Max Texture Size", this.maxTextureSize);
          throw new CrashException(crashReport);
       }
 
@@ -88,13 +128,27 @@ public class SpriteLoader {
       Map<Identifier, Sprite> map = this.collectStitchedSprites(textureStitcher, o, p);
       Sprite sprite = (Sprite)map.get(MissingSprite.getMissingSpriteId());
       CompletableFuture<Void> completableFuture;
-      if (l > 0) {
-         completableFuture = CompletableFuture.runAsync(() -> map.values().forEach((sprite) -> sprite.getContents().generateMipmaps(l)), executor);
+      if (mipLevel > 0) {
+         completableFuture = CompletableFuture.runAsync(() -> map.values().forEach((sprite) -> sprite.getContents().generateMipmaps(mipLevel)), executor);
       } else {
          completableFuture = CompletableFuture.completedFuture((Object)null);
       }
 
-      return new StitchResult(o, p, l, sprite, map, completableFuture);
+      return new StitchResult(o, p, mipLevel, sprite, map, completableFuture);
+   }
+
+   private StitchResult createFromCache(List sprites, StitchCache.Entry entry, int mipLevel) {
+      int i = Math.max(entry.width(), this.width);
+      int j = Math.max(entry.height(), this.height);
+      Map<Identifier, Sprite> map = new HashMap();
+
+      for(int k = 0; k < sprites.size(); ++k) {
+         SpriteContents spriteContents = (SpriteContents)sprites.get(k);
+         spriteContents.mipmapLevelsImages = entry.mipmaps()[k];
+         map.put(spriteContents.getId(), new Sprite(this.id, spriteContents, i, j, entry.getX(k), entry.getY(k)));
+      }
+
+      return new StitchResult(i, j, mipLevel, (Sprite)map.get(MissingSprite.getMissingSpriteId()), map, CompletableFuture.completedFuture((Object)null));
    }
 
    public static CompletableFuture loadAll(SpriteOpener opener, List sources, Executor executor) {
@@ -108,7 +162,12 @@ public class SpriteLoader {
 
    public CompletableFuture load(ResourceManager resourceManager, Identifier path, int mipLevel, Executor executor, Collection metadatas) {
       SpriteOpener spriteOpener = SpriteOpener.create(metadatas);
-      return CompletableFuture.supplyAsync(() -> AtlasLoader.of(resourceManager, path).loadSources(resourceManager), executor).thenCompose((sources) -> loadAll(spriteOpener, sources, executor)).thenApply((sprites) -> this.stitch(sprites, mipLevel, executor));
+      if (this.cacheDirectory != null) {
+         CompletableFuture<StitchCache> completableFuture = CompletableFuture.supplyAsync(() -> StitchCache.open(this.cacheDirectory, this.id), Util.getIoWorkerExecutor());
+         return CompletableFuture.supplyAsync(() -> AtlasLoader.of(resourceManager, path).loadSources(resourceManager), executor).thenCombine(completableFuture, (sources, stitchCache) -> loadAll(stitchCache.wrap(spriteOpener, metadatas), sources, executor).thenApply((sprites) -> this.stitch(sprites, mipLevel, executor, stitchCache))).thenCompose(Function.identity());
+      } else {
+         return CompletableFuture.supplyAsync(() -> AtlasLoader.of(resourceManager, path).loadSources(resourceManager), executor).thenCompose((sources) -> loadAll(spriteOpener, sources, executor)).thenApply((sprites) -> this.stitch(sprites, mipLevel, executor));
+      }
    }
 
    private Map collectStitchedSprites(TextureStitcher stitcher, int atlasWidth, int atlasHeight) {
@@ -0,0 +1,386 @@
+package net.minecraft.client.texture;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.mojang.logging.LogUtils;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.resource.metadata.AnimationResourceMetadata;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.metadata.ResourceMetadata;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.system.MemoryUtil;
+import org.slf4j.Logger;
+
+@Environment(EnvType.CLIENT)
+public class StitchCache {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   private static final int MAGIC = 1398032451;
+   private static final int VERSION = 2;
+   private static final int KEY_SIZE = 32;
+   private static final int HEADER_SIZE = 64;
+   private final Identifier atlasId;
+   private final Path path;
+   private final Map fingerprints = new ConcurrentHashMap();
+   private final Map sprites = new HashMap();
+   @Nullable
+   private ByteBuffer buffer;
+
+   private StitchCache(Identifier atlasId, Path path) {
+      this.atlasId = atlasId;
+      this.path = path;
+   }
+
+   public static StitchCache open(Path directory, Identifier atlasId) {
+      StitchCache stitchCache = new StitchCache(atlasId, directory.resolve(atlasId.getNamespace() + "_" + atlasId.getPath().replace('/', '_') + ".bin"));
+      stitchCache.load();
+      return stitchCache;
+   }
+
+   private void load() {
+      if (Files.isRegularFile(this.path)) {
+         try {
+            ByteBuffer byteBuffer = readFile(this.path);
+            if (byteBuffer.capacity() >= 64 && byteBuffer.getInt(0) == 1398032451 && byteBuffer.getInt(4) == 2) {
+               int i = byteBuffer.getInt(48);
+               int j = byteBuffer.getInt(52);
+               byteBuffer.position(64);
+
+               for(int k = 0; k < j; ++k) {
+                  byte[] bs = new byte[Short.toUnsignedInt(byteBuffer.getShort())];
+                  byteBuffer.get(bs);
+                  Identifier identifier = Identifier.of(new String(bs, StandardCharsets.UTF_8));
+                  long l = byteBuffer.getLong();
+                  int m = byteBuffer.getInt();
+                  int n = byteBuffer.getInt();
+                  int o = byteBuffer.getInt();
+                  int p = byteBuffer.getInt();
+                  int q = byteBuffer.position();
+                  byteBuffer.position(q + getDataSize(m, n, i, l != 0L));
+                  this.sprites.put(identifier, new CachedSprite(k, l, m, n, o, p, q));
+               }
+
+               if (byteBuffer.position() == byteBuffer.capacity()) {
+                  this.buffer = byteBuffer;
+               } else {
+                  this.sprites.clear();
+                  LOGGER.info("Stitch cache for {} is out of date", this.atlasId);
+               }
+            } else {
+               LOGGER.info("Stitch cache for {} is out of date", this.atlasId);
+            }
+         } catch (IOException | RuntimeException exception) {
+            this.sprites.clear();
+            LOGGER.warn("Failed to read stitch cache for {}", this.atlasId, exception);
+         }
+
+      }
+   }
+
+   private static ByteBuffer readFile(Path path) throws IOException {
+      FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+
+      ByteBuffer var2;
+      try {
+         ByteBuffer byteBuffer = ByteBuffer.allocate(Math.toIntExact(fileChannel.size())).order(ByteOrder.LITTLE_ENDIAN);
+
+         while(byteBuffer.hasRemaining()) {
+            if (fileChannel.read(byteBuffer) < 0) {
+               throw new EOFException(path.toString());
+            }
+         }
+
+         var2 = byteBuffer.rewind();
+      } catch (Throwable var4) {
+         if (fileChannel != null) {
+            try {
+               fileChannel.close();
+            } catch (Throwable var3) {
+               var4.addSuppressed(var3);
+            }
+         }
+
+         throw var4;
+      }
+
+      if (fileChannel != null) {
+         fileChannel.close();
+      }
+
+      return var2;
+   }
+
+   private static int getDataSize(int width, int height, int mipLevel, boolean includeBase) {
+      int i = includeBase ? width * height * 4 : 0;
+
+      for(int j = 1; j <= mipLevel; ++j) {
+         i += (width >> j) * (height >> j) * 4;
+      }
+
+      return i;
+   }
+
+   public SpriteOpener wrap(SpriteOpener opener, Collection metadatas) {
+      return (id, resource) -> {
+         byte[] bs = readResource(resource);
+         if (bs == null) {
+            return opener.loadSprite(id, resource);
+         } else {
+            long l = Hashing.murmur3_128().newHasher().putString(resource.getPackId(), StandardCharsets.UTF_8).putBytes(bs).hash().asLong() | 1L;
+            this.fingerprints.put(id, l);
+            CachedSprite cachedSprite = (CachedSprite)this.sprites.get(id);
+            if (cachedSprite != null && cachedSprite.fingerprint() == l) {
+               SpriteContents spriteContents = this.createSprite(id, resource, cachedSprite, metadatas);
+               if (spriteContents != null) {
+                  return spriteContents;
+               }
+            }
+
+            return opener.loadSprite(id, new Resource(resource.getPack(), () -> new ByteArrayInputStream(bs), resource::getMetadata));
+         }
+      };
+   }
+
+   @Nullable
+   private static byte[] readResource(Resource resource) {
+      try {
+         InputStream inputStream = resource.getInputStream();
+
+         byte[] var2;
+         try {
+            var2 = inputStream.readAllBytes();
+         } catch (Throwable var5) {
+            if (inputStream != null) {
+               try {
+                  inputStream.close();
+               } catch (Throwable var4) {
+                  var5.addSuppressed(var4);
+               }
+            }
+
+            throw var5;
+         }
+
+         if (inputStream != null) {
+            inputStream.close();
+         }
+
+         return var2;
+      } catch (IOException iOException) {
+         return null;
+      }
+   }
+
+   @Nullable
+   private SpriteContents createSprite(Identifier id, Resource resource, CachedSprite cachedSprite, Collection metadatas) {
+      ResourceMetadata resourceMetadata;
+      try {
+         resourceMetadata = resource.getMetadata().copy(metadatas);
+      } catch (Exception exception) {
+         return null;
+      }
+
+      AnimationResourceMetadata animationResourceMetadata = (AnimationResourceMetadata)resourceMetadata.decode(AnimationResourceMetadata.READER).orElse(AnimationResourceMetadata.EMPTY);
+      SpriteDimensions spriteDimensions = animationResourceMetadata.getSize(cachedSprite.width(), cachedSprite.height());
+      if (MathHelper.isMultipleOf(cachedSprite.width(), spriteDimensions.width()) && MathHelper.isMultipleOf(cachedSprite.height(), spriteDimensions.height())) {
+         return new SpriteContents(id, spriteDimensions, this.createImage(cachedSprite.width(), cachedSprite.height(), cachedSprite.offset()), resourceMetadata);
+      } else {
+         return null;
+      }
+   }
+
+   private NativeImage createImage(int width, int height, int offset) {
+      NativeImage nativeImage = new NativeImage(width, height, false);
+      int i = width * height * 4;
+      MemoryUtil.memByteBuffer(nativeImage.getPointer(), i).put(0, this.buffer, offset, i);
+      return nativeImage;
+   }
+
+   public byte[] computeKey(int maxTextureSize, int requestedMipLevel, int mipLevel, List sprites) {
+      Hasher hasher = Hashing.sha256().newHasher();
+      hasher.putInt(2).putString(this.atlasId.toString(), StandardCharsets.UTF_8).putInt(maxTextureSize).putInt(requestedMipLevel).putInt(mipLevel).putInt(sprites.size());
+
+      for(SpriteContents spriteContents : sprites) {
+         NativeImage nativeImage = spriteContents.mipmapLevelsImages[0];
+         Long long_ = (Long)this.fingerprints.get(spriteContents.getId());
+         hasher.putString(spriteContents.getId().toString(), StandardCharsets.UTF_8);
+         hasher.putInt(spriteContents.getWidth()).putInt(spriteContents.getHeight());
+         hasher.putInt(nativeImage.getWidth()).putInt(nativeImage.getHeight()).putInt(nativeImage.getFormat().getChannelCount());
+         hasher.putLong(long_ != null ? long_ : hashPixels(nativeImage));
+      }
+
+      return hasher.hash().asBytes();
+   }
+
+   private static long hashPixels(NativeImage image) {
+      long l = image.getPointer();
+      long m = (long)image.getWidth() * (long)image.getHeight() * (long)image.getFormat().getChannelCount();
+      long n = -7046029254386353131L;
+
+      long o;
+      for(o = 0L; o + 8L <= m; o += 8L) {
+         n = Long.rotateLeft(n ^ MemoryUtil.memGetLong(l + o), 27) * -7046029254386353131L;
+      }
+
+      while(o < m) {
+         n = (n ^ (long)MemoryUtil.memGetByte(l + o)) * -7046029254386353131L;
+         ++o;
+      }
+
+      return n ^ m;
+   }
+
+   @Nullable
+   public Entry read(byte[] key, List sprites, int mipLevel) {
+      if (this.buffer == null) {
+         return null;
+      } else {
+         byte[] bs = new byte[32];
+         this.buffer.get(8, bs);
+         int i = sprites.size();
+         if (Arrays.equals(bs, key) && this.buffer.getInt(48) == mipLevel && this.buffer.getInt(52) == i) {
+            CachedSprite[] cachedSprites = new CachedSprite[i];
+
+            for(int j = 0; j < i; ++j) {
+               NativeImage nativeImage = ((SpriteContents)sprites.get(j)).mipmapLevelsImages[0];
+               CachedSprite cachedSprite = (CachedSprite)this.sprites.get(((SpriteContents)sprites.get(j)).getId());
+               if (cachedSprite == null || cachedSprite.index() != j || cachedSprite.width() != nativeImage.getWidth() || cachedSprite.height() != nativeImage.getHeight()) {
+                  LOGGER.info("Stitch cache for {} is out of date", this.atlasId);
+                  return null;
+               }
+
+               cachedSprites[j] = cachedSprite;
+            }
+
+            int[] is = new int[i * 2];
+            NativeImage[][] nativeImages = new NativeImage[i][];
+
+            for(int j = 0; j < i; ++j) {
+               CachedSprite cachedSprite = cachedSprites[j];
+               NativeImage[] nativeImages2 = new NativeImage[mipLevel + 1];
+               nativeImages2[0] = ((SpriteContents)sprites.get(j)).mipmapLevelsImages[0];
+               int k = cachedSprite.offset() + getDataSize(cachedSprite.width(), cachedSprite.height(), 0, cachedSprite.fingerprint() != 0L);
+
+               for(int l = 1; l <= mipLevel; ++l) {
+                  nativeImages2[l] = this.createImage(cachedSprite.width() >> l, cachedSprite.height() >> l, k);
+                  k += (cachedSprite.width() >> l) * (cachedSprite.height() >> l) * 4;
+               }
+
+               is[j * 2] = cachedSprite.x();
+               is[j * 2 + 1] = cachedSprite.y();
+               nativeImages[j] = nativeImages2;
+            }
+
+            return new Entry(this.buffer.getInt(40), this.buffer.getInt(44), is, nativeImages);
+         } else {
+            LOGGER.info("Stitch cache for {} is out of date", this.atlasId);
+            return null;
+         }
+      }
+   }
+
+   public ByteBuffer serialize(byte[] key, List sprites, Map regions, int width, int height, int mipLevel) {
+      int i = sprites.size();
+      byte[][] bs = new byte[i][];
+      long[] ls = new long[i];
+      int j = 64;
+
+      for(int k = 0; k < i; ++k) {
+         SpriteContents spriteContents = (SpriteContents)sprites.get(k);
+         NativeImage nativeImage = spriteContents.mipmapLevelsImages[0];
+         Long long_ = (Long)this.fingerprints.get(spriteContents.getId());
+         bs[k] = spriteContents.getId().toString().getBytes(StandardCharsets.UTF_8);
+         ls[k] = long_ != null && nativeImage.getFormat() == NativeImage.Format.RGBA ? long_ : 0L;
+         j += 26 + bs[k].length + getDataSize(nativeImage.getWidth(), nativeImage.getHeight(), mipLevel, ls[k] != 0L);
+      }
+
+      ByteBuffer byteBuffer = ByteBuffer.allocate(j).order(ByteOrder.LITTLE_ENDIAN);
+      byteBuffer.putInt(1398032451).putInt(2).put(key).putInt(width).putInt(height).putInt(mipLevel).putInt(i).position(64);
+
+      for(int k = 0; k < i; ++k) {
+         SpriteContents spriteContents = (SpriteContents)sprites.get(k);
+         NativeImage nativeImage = spriteContents.mipmapLevelsImages[0];
+         Sprite sprite = (Sprite)regions.get(spriteContents.getId());
+         byteBuffer.putShort((short)bs[k].length).put(bs[k]).putLong(ls[k]);
+         byteBuffer.putInt(nativeImage.getWidth()).putInt(nativeImage.getHeight()).putInt(sprite.getX()).putInt(sprite.getY());
+
+         for(int l = ls[k] != 0L ? 0 : 1; l <= mipLevel; ++l) {
+            NativeImage nativeImage2 = spriteContents.mipmapLevelsImages[l];
+            byteBuffer.put(MemoryUtil.memByteBuffer(nativeImage2.getPointer(), nativeImage2.getWidth() * nativeImage2.getHeight() * 4));
+         }
+      }
+
+      return byteBuffer.flip();
+   }
+
+   public void write(ByteBuffer buffer) {
+      Path path = this.path.resolveSibling(this.path.getFileName().toString() + ".tmp");
+
+      try {
+         Files.createDirectories(this.path.getParent());
+         FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+         try {
+            while(buffer.hasRemaining()) {
+               fileChannel.write(buffer);
+            }
+
+            fileChannel.force(false);
+         } catch (Throwable var6) {
+            if (fileChannel != null) {
+               try {
+                  fileChannel.close();
+               } catch (Throwable var5) {
+                  var6.addSuppressed(var5);
+               }
+            }
+
+            throw var6;
+         }
+
+         if (fileChannel != null) {
+            fileChannel.close();
+         }
+
+         Files.move(path, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException | RuntimeException exception) {
+         LOGGER.warn("Failed to write stitch cache for {}", this.atlasId, exception);
+      }
+
+   }
+
+   @Environment(EnvType.CLIENT)
+   static record CachedSprite(int index, long fingerprint, int width, int height, int x, int y, int offset) {
+   }
+
+   @Environment(EnvType.CLIENT)
+   public static record Entry(int width, int height, int[] placements, NativeImage[][] mipmaps) {
+      public int getX(int index) {
+         return this.placements[index * 2];
+      }
+
+      public int getY(int index) {
+         return this.placements[index * 2 + 1];
+      }
+   }
+}
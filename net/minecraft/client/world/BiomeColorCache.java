@@ -1,28 +1,28 @@
 package net.minecraft.client.world;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
-import java.util.Arrays;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.ToIntFunction;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.ChunkSectionPos;
-import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.HeightLimitView;
 import org.jetbrains.annotations.Nullable;
 
 @Environment(EnvType.CLIENT)
 public class BiomeColorCache {
    private static final int MAX_ENTRY_SIZE = 256;
    private final ThreadLocal last = ThreadLocal.withInitial(Last::new);
-   private final Long2ObjectLinkedOpenHashMap colors = new Long2ObjectLinkedOpenHashMap(256, 0.25F);
-   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-   private final ToIntFunction colorFactory;
+   private final Map colors = new ConcurrentHashMap(256);
+   private final HeightLimitView world;
+   private final LayerFactory layerFactory;
 
-   public BiomeColorCache(ToIntFunction colorFactory) {
-      this.colorFactory = colorFactory;
+   public BiomeColorCache(HeightLimitView world, LayerFactory layerFactory) {
+      this.world = world;
+      this.layerFactory = layerFactory;
    }
 
    public int getBiomeColor(BlockPos pos) {
@@ -38,123 +38,108 @@ public class BiomeColorCache {
       int[] is = last.colors.get(pos.getY());
       int k = pos.getX() & 15;
       int l = pos.getZ() & 15;
-      int m = l << 4 | k;
-      int n = is[m];
-      if (n != -1) {
-         return n;
-      } else {
-         int o = this.colorFactory.applyAsInt(pos);
-         is[m] = o;
-         return o;
-      }
+      return is[l << 4 | k];
    }
 
    public void reset(int chunkX, int chunkZ) {
-      try {
-         this.lock.writeLock().lock();
-
-         for(int i = -1; i <= 1; ++i) {
-            for(int j = -1; j <= 1; ++j) {
-               long l = ChunkPos.toLong(chunkX + i, chunkZ + j);
-               Colors colors = (Colors)this.colors.remove(l);
-               if (colors != null) {
-                  colors.setNeedsCacheRefresh();
-               }
+      for(int i = -1; i <= 1; ++i) {
+         for(int j = -1; j <= 1; ++j) {
+            Colors colors = (Colors)this.colors.remove(ChunkPos.toLong(chunkX + i, chunkZ + j));
+            if (colors != null) {
+               colors.setNeedsCacheRefresh();
             }
          }
-      } finally {
-         this.lock.writeLock().unlock();
       }
 
    }
 
    public void reset() {
-      try {
-         this.lock.writeLock().lock();
-         this.colors.values().forEach(Colors::setNeedsCacheRefresh);
-         this.colors.clear();
-      } finally {
-         this.lock.writeLock().unlock();
+      Iterator<Colors> iterator = this.colors.values().iterator();
+
+      while(iterator.hasNext()) {
+         ((Colors)iterator.next()).setNeedsCacheRefresh();
+         iterator.remove();
       }
 
    }
 
    private Colors getColorArray(int chunkX, int chunkZ) {
       long l = ChunkPos.toLong(chunkX, chunkZ);
-      this.lock.readLock().lock();
-
-      try {
-         Colors colors = (Colors)this.colors.get(l);
-         if (colors != null) {
-            Colors var6 = colors;
-            return var6;
+      Colors colors = (Colors)this.colors.get(l);
+      if (colors != null) {
+         return colors;
+      } else {
+         if (this.colors.size() >= 256) {
+            this.evictFurthest(chunkX, chunkZ);
          }
-      } finally {
-         this.lock.readLock().unlock();
+
+         Colors colors2 = new Colors(chunkX, chunkZ, this.world, this.layerFactory);
+         colors = (Colors)this.colors.putIfAbsent(l, colors2);
+         return colors != null ? colors : colors2;
       }
+   }
 
-      this.lock.writeLock().lock();
-
-      Colors colors2;
-      try {
-         Colors colors = (Colors)this.colors.get(l);
-         if (colors == null) {
-            colors2 = new Colors();
-            if (this.colors.size() >= 256) {
-               Colors colors3 = (Colors)this.colors.removeFirst();
-               if (colors3 != null) {
-                  colors3.setNeedsCacheRefresh();
-               }
-            }
+   private void evictFurthest(int chunkX, int chunkZ) {
+      Colors colors = null;
+      int i = -1;
 
-            this.colors.put(l, colors2);
-            Colors var18 = colors2;
-            return var18;
+      for(Colors colors2 : this.colors.values()) {
+         int j = Math.max(Math.abs(colors2.chunkX - chunkX), Math.abs(colors2.chunkZ - chunkZ));
+         if (j > i) {
+            i = j;
+            colors = colors2;
          }
+      }
 
-         colors2 = colors;
-      } finally {
-         this.lock.writeLock().unlock();
+      if (colors != null && this.colors.remove(ChunkPos.toLong(colors.chunkX, colors.chunkZ), colors)) {
+         colors.setNeedsCacheRefresh();
       }
 
-      return colors2;
+   }
+
+   @FunctionalInterface
+   @Environment(EnvType.CLIENT)
+   public interface LayerFactory {
+      void fill(int x, int y, int z, int[] colors);
    }
 
    @Environment(EnvType.CLIENT)
    static class Colors {
-      private final Int2ObjectArrayMap colors = new Int2ObjectArrayMap(16);
-      private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-      private static final int XZ_COLORS_SIZE = MathHelper.square(16);
+      final int chunkX;
+      final int chunkZ;
+      private final int bottomY;
+      private final AtomicReferenceArray layers;
+      private final LayerFactory layerFactory;
       private volatile boolean needsCacheRefresh;
 
-      public int[] get(int y) {
-         this.lock.readLock().lock();
+      Colors(int chunkX, int chunkZ, HeightLimitView world, LayerFactory layerFactory) {
+         this.chunkX = chunkX;
+         this.chunkZ = chunkZ;
+         this.bottomY = world.getBottomY();
+         this.layers = new AtomicReferenceArray(world.getHeight());
+         this.layerFactory = layerFactory;
+      }
 
-         try {
-            int[] is = (int[])this.colors.get(y);
-            if (is != null) {
-               int[] var3 = is;
-               return var3;
+      public int[] get(int y) {
+         int i = y - this.bottomY;
+         if (i >= 0 && i < this.layers.length()) {
+            int[] is = (int[])this.layers.get(i);
+            if (is == null) {
+               is = this.createLayer(y);
+               if (!this.layers.compareAndSet(i, (Object)null, is)) {
+                  is = (int[])this.layers.get(i);
+               }
             }
-         } finally {
-            this.lock.readLock().unlock();
-         }
 
-         this.lock.writeLock().lock();
-
-         int[] var12;
-         try {
-            var12 = (int[])this.colors.computeIfAbsent(y, (yx) -> this.createDefault());
-         } finally {
-            this.lock.writeLock().unlock();
+            return is;
+         } else {
+            return this.createLayer(y);
          }
-
-         return var12;
       }
 
-      private int[] createDefault() {
-         int[] is = new int[XZ_COLORS_SIZE];
-         Arrays.fill(is, -1);
+      private int[] createLayer(int y) {
+         int[] is = new int[256];
+         this.layerFactory.fill(ChunkSectionPos.getBlockCoord(this.chunkX), y, ChunkSectionPos.getBlockCoord(this.chunkZ), is);
          return is;
       }
 
@@ -1,26 +1,45 @@
 package net.minecraft.client.world;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.logging.LogUtils;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.chunk.TaskTimeHistogram;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.ChunkData;
+import net.minecraft.network.packet.s2c.play.LightData;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.Util;
+import net.minecraft.util.logging.UncaughtExceptionLogger;
 import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.world.BlockView;
 import net.minecraft.world.LightType;
 import net.minecraft.world.biome.BiomeKeys;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkManager;
+import net.minecraft.world.chunk.ChunkNibbleArray;
 import net.minecraft.world.chunk.ChunkStatus;
 import net.minecraft.world.chunk.EmptyChunk;
 import net.minecraft.world.chunk.WorldChunk;
@@ -31,10 +50,16 @@ import org.slf4j.Logger;
 @Environment(EnvType.CLIENT)
 public class ClientChunkManager extends ChunkManager {
    static final Logger LOGGER = LogUtils.getLogger();
+   private static final boolean ASYNC_DECODING = Boolean.parseBoolean(System.getProperty("ClientChunkManager.asyncDecoding", "true"));
+   private static final Executor DECODE_EXECUTOR = Executors.newFixedThreadPool(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() / 4, 3)), (new ThreadFactoryBuilder()).setNameFormat("Chunk Decoder #%d").setDaemon(true).setUncaughtExceptionHandler(new UncaughtExceptionLogger(LOGGER)).build());
    private final WorldChunk emptyChunk;
    private final LightingProvider lightingProvider;
    volatile ClientChunkMap chunks;
    final ClientWorld world;
+   private final Map pendingChunkData = Collections.synchronizedMap(new IdentityHashMap());
+   private final AtomicInteger queuedDecodes = new AtomicInteger();
+   private final TaskTimeHistogram decodeTimes = new TaskTimeHistogram();
+   private int syncDecodes;
 
    public ClientChunkManager(ClientWorld world, int loadDistance) {
       this.world = world;
@@ -120,6 +145,104 @@ public class ClientChunkManager extends ChunkManager {
       }
    }
 
+   public void prepareChunkData(int x, int z, ChunkData chunkData, LightData lightData) {
+      if (ASYNC_DECODING) {
+         AtomicBoolean atomicBoolean = new AtomicBoolean();
+         this.queuedDecodes.incrementAndGet();
+         this.pendingChunkData.put(chunkData, new PendingDecode(CompletableFuture.supplyAsync(() -> {
+            if (!atomicBoolean.compareAndSet(false, true)) {
+               return null;
+            } else {
+               long l = Util.getMeasuringTimeNano();
+
+               DecodedChunk var7;
+               try {
+                  var7 = this.decodeChunkData(x, z, chunkData, lightData);
+               } finally {
+                  this.decodeTimes.record(Util.getMeasuringTimeNano() - l);
+                  this.queuedDecodes.decrementAndGet();
+               }
+
+               return var7;
+            }
+         }, DECODE_EXECUTOR), atomicBoolean));
+      }
+
+   }
+
+   @Nullable
+   public DecodedChunk takeDecodedChunk(ChunkData chunkData) {
+      PendingDecode pendingDecode = (PendingDecode)this.pendingChunkData.remove(chunkData);
+      if (pendingDecode == null) {
+         ++this.syncDecodes;
+         return null;
+      } else if (pendingDecode.started().compareAndSet(false, true)) {
+         this.queuedDecodes.decrementAndGet();
+         ++this.syncDecodes;
+         return null;
+      } else {
+         try {
+            return (DecodedChunk)pendingDecode.future().join();
+         } catch (CompletionException completionException) {
+            LOGGER.warn("Failed to decode chunk data off-thread, falling back to main thread", completionException);
+            ++this.syncDecodes;
+            return null;
+         }
+      }
+   }
+
+   private DecodedChunk decodeChunkData(int x, int z, ChunkData chunkData, LightData lightData) {
+      WorldChunk worldChunk = new WorldChunk(this.world, new ChunkPos(x, z));
+      worldChunk.loadFromPacket(chunkData.getSectionsDataBuf(), chunkData.getHeightmap(), (visitor) -> {
+      });
+      ChunkNibbleArray[] chunkNibbleArrays = this.decodeLightData(lightData.getInitedSky(), lightData.getUninitedSky(), lightData.getSkyNibbles().iterator());
+      ChunkNibbleArray[] chunkNibbleArrays2 = this.decodeLightData(lightData.getInitedBlock(), lightData.getUninitedBlock(), lightData.getBlockNibbles().iterator());
+      return new DecodedChunk(worldChunk, chunkNibbleArrays, chunkNibbleArrays2);
+   }
+
+   private ChunkNibbleArray[] decodeLightData(BitSet inited, BitSet uninited, Iterator nibbles) {
+      ChunkNibbleArray[] chunkNibbleArrays = new ChunkNibbleArray[this.lightingProvider.getHeight()];
+
+      for(int i = 0; i < chunkNibbleArrays.length; ++i) {
+         boolean bl = inited.get(i);
+         boolean bl2 = uninited.get(i);
+         if (bl || bl2) {
+            chunkNibbleArrays[i] = bl ? new ChunkNibbleArray((byte[])((byte[])nibbles.next()).clone()) : new ChunkNibbleArray();
+         }
+      }
+
+      return chunkNibbleArrays;
+   }
+
+   @Nullable
+   public WorldChunk loadChunkFromPacket(int x, int z, ChunkData chunkData, DecodedChunk decodedChunk) {
+      if (!this.chunks.isInRadius(x, z)) {
+         LOGGER.warn("Ignoring chunk since it's not in the view range: {}, {}", x, z);
+         return null;
+      } else {
+         int i = this.chunks.getIndex(x, z);
+         WorldChunk worldChunk = (WorldChunk)this.chunks.chunks.get(i);
+         ChunkPos chunkPos = new ChunkPos(x, z);
+         if (!positionEquals(worldChunk, x, z)) {
+            worldChunk = decodedChunk.chunk();
+            this.chunks.set(i, worldChunk);
+            WorldChunk worldChunk2 = worldChunk;
+            chunkData.getBlockEntities(x, z).accept((ChunkData.BlockEntityVisitor)(pos, blockEntityType, nbt) -> {
+               BlockEntity blockEntity = worldChunk2.getBlockEntity(pos, WorldChunk.CreationType.IMMEDIATE);
+               if (blockEntity != null && nbt != null && blockEntity.getType() == blockEntityType) {
+                  blockEntity.read(nbt, this.world.getRegistryManager());
+               }
+
+            });
+         } else {
+            worldChunk.loadFromPacket(chunkData.getSectionsDataBuf(), chunkData.getHeightmap(), chunkData.getBlockEntities(x, z));
+         }
+
+         this.world.resetChunkColor(chunkPos);
+         return worldChunk;
+      }
+   }
+
    public void tick(BooleanSupplier shouldKeepTicking, boolean tickChunks) {
    }
 
@@ -157,7 +280,7 @@ public class ClientChunkManager extends ChunkManager {
 
    public String getDebugString() {
       int var10000 = this.chunks.chunks.length();
-      return var10000 + ", " + this.getLoadedChunkCount();
+      return var10000 + ", " + this.getLoadedChunkCount() + String.format(Locale.ROOT, " D: %d queued, %d sync, p50/p95 %.1f/%.1f ms", this.queuedDecodes.get(), this.syncDecodes, this.decodeTimes.getPercentileMillis(0.5), this.decodeTimes.getPercentileMillis(0.95));
    }
 
    public int getLoadedChunkCount() {
@@ -257,4 +380,12 @@ public class ClientChunkManager extends ChunkManager {
 
       }
    }
+
+   @Environment(EnvType.CLIENT)
+   public static record DecodedChunk(WorldChunk chunk, ChunkNibbleArray[] skyLight, ChunkNibbleArray[] blockLight) {
+   }
+
+   @Environment(EnvType.CLIENT)
+   static record PendingDecode(CompletableFuture future, AtomicBoolean started) {
+   }
 }
@@ -113,9 +113,9 @@ public class ClientWorld extends World {
    private static final long field_32640 = 16777215L;
    private int lightningTicksLeft;
    private final Object2ObjectArrayMap colorCache = (Object2ObjectArrayMap)Util.make(new Object2ObjectArrayMap(3), (map) -> {
-      map.put(BiomeColors.GRASS_COLOR, new BiomeColorCache((pos) -> this.calculateColor(pos, BiomeColors.GRASS_COLOR)));
-      map.put(BiomeColors.FOLIAGE_COLOR, new BiomeColorCache((pos) -> this.calculateColor(pos, BiomeColors.FOLIAGE_COLOR)));
-      map.put(BiomeColors.WATER_COLOR, new BiomeColorCache((pos) -> this.calculateColor(pos, BiomeColors.WATER_COLOR)));
+      map.put(BiomeColors.GRASS_COLOR, new BiomeColorCache(this, (x, y, z, colors) -> this.calculateColors(x, y, z, colors, BiomeColors.GRASS_COLOR)));
+      map.put(BiomeColors.FOLIAGE_COLOR, new BiomeColorCache(this, (x, y, z, colors) -> this.calculateColors(x, y, z, colors, BiomeColors.FOLIAGE_COLOR)));
+      map.put(BiomeColors.WATER_COLOR, new BiomeColorCache(this, (x, y, z, colors) -> this.calculateColors(x, y, z, colors, BiomeColors.WATER_COLOR)));
    });
    private final ClientChunkManager chunkManager;
    private final Deque chunkUpdaters = Queues.newArrayDeque();
@@ -294,6 +294,7 @@ public class ClientWorld extends World {
    }
 
    public void unloadBlockEntities(WorldChunk chunk) {
+      this.worldRenderer.onChunkUnloaded(chunk);
       chunk.clear();
       this.chunkManager.getLightingProvider().setColumnEnabled(chunk.getPos(), false);
       this.entityManager.stopTicking(chunk.getPos());
@@ -535,6 +536,10 @@ public class ClientWorld extends World {
       this.worldRenderer.updateBlock(this, pos, oldState, newState, flags);
    }
 
+   public void onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock) {
+      this.worldRenderer.onBlockChanged(pos);
+   }
+
    public void scheduleBlockRerenderIfNeeded(BlockPos pos, BlockState old, BlockState updated) {
       this.worldRenderer.scheduleBlockRerenderIfNeeded(pos, old, updated);
    }
@@ -716,6 +721,85 @@ public class ClientWorld extends World {
       return biomeColorCache.getBiomeColor(pos);
    }
 
+   public void calculateColors(int x, int y, int z, int[] colors, ColorResolver colorResolver) {
+      int i = (Integer)MinecraftClient.getInstance().options.getBiomeBlendRadius().getValue();
+      BlockPos.Mutable mutable = new BlockPos.Mutable();
+      if (i == 0) {
+         for(int j = 0; j < 16; ++j) {
+            for(int k = 0; k < 16; ++k) {
+               mutable.set(x + k, y, z + j);
+               colors[j << 4 | k] = colorResolver.getColor((Biome)this.getBiome(mutable).value(), (double)mutable.getX(), (double)mutable.getZ());
+            }
+         }
+      } else {
+         int j = 16 + i * 2;
+         int k = i * 2 + 1;
+         int l = k * k;
+         int[] is = new int[j * j];
+         int[] js = new int[j * j];
+         int[] ks = new int[j * j];
+
+         for(int m = 0; m < j; ++m) {
+            for(int n = 0; n < j; ++n) {
+               mutable.set(x - i + n, y, z - i + m);
+               int o = colorResolver.getColor((Biome)this.getBiome(mutable).value(), (double)mutable.getX(), (double)mutable.getZ());
+               is[m * j + n] = (o & 16711680) >> 16;
+               js[m * j + n] = (o & '\uff00') >> 8;
+               ks[m * j + n] = o & 255;
+            }
+         }
+
+         int[] ls = new int[j * 16];
+         int[] ms = new int[j * 16];
+         int[] ns = new int[j * 16];
+
+         for(int m = 0; m < j; ++m) {
+            int n = 0;
+            int o = 0;
+            int p = 0;
+
+            for(int q = 0; q < k; ++q) {
+               n += is[m * j + q];
+               o += js[m * j + q];
+               p += ks[m * j + q];
+            }
+
+            for(int q = 0; q < 16; ++q) {
+               ls[m * 16 + q] = n;
+               ms[m * 16 + q] = o;
+               ns[m * 16 + q] = p;
+               if (q < 15) {
+                  n += is[m * j + q + k] - is[m * j + q];
+                  o += js[m * j + q + k] - js[m * j + q];
+                  p += ks[m * j + q + k] - ks[m * j + q];
+               }
+            }
+         }
+
+         for(int m = 0; m < 16; ++m) {
+            int n = 0;
+            int o = 0;
+            int p = 0;
+
+            for(int q = 0; q < k; ++q) {
+               n += ls[q * 16 + m];
+               o += ms[q * 16 + m];
+               p += ns[q * 16 + m];
+            }
+
+            for(int q = 0; q < 16; ++q) {
+               colors[q << 4 | m] = (n / l & 255) << 16 | (o / l & 255) << 8 | p / l & 255;
+               if (q < 15) {
+                  n += ls[(q + k) * 16 + m] - ls[q * 16 + m];
+                  o += ms[(q + k) * 16 + m] - ms[q * 16 + m];
+                  p += ns[(q + k) * 16 + m] - ns[q * 16 + m];
+               }
+            }
+         }
+      }
+
+   }
+
    public int calculateColor(BlockPos pos, ColorResolver colorResolver) {
       int i = (Integer)MinecraftClient.getInstance().options.getBiomeBlendRadius().getValue();
       if (i == 0) {